@@ -0,0 +1,146 @@
+package edu.stanford.bmir.radx.metadata.validator.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Validates many instances against a single template inside one JVM. Instances are read and validated on the
+ * given {@link ValidationExecutors} and the combined report is written in the order in which the instances were
+ * listed. At most {@code window} instances are submitted ahead of the report, so memory use does not grow with the
+ * number of instances. If a {@link ValidationReportDiskCache} is given, the reports of instances that were validated before are
+ * read from it instead. If {@link DataDirectoryDigests} are given, the digest of each instance is also checked
+ * against its data file.
+ */
+public class BatchValidationRunner {
+  private final Validator validator;
+  private final ValidationReportWriter validationReportWriter;
+  private final ValidationExecutors executors;
+  private final int window;
+  private final ValidationReportDiskCache reportCache;
+  private final DataDirectoryDigests dataDirectoryDigests;
+
+  public BatchValidationRunner(Validator validator, ValidationReportWriter validationReportWriter, ValidationExecutors executors, int window) {
+    this(validator, validationReportWriter, executors, window, null, null);
+  }
+
+  public BatchValidationRunner(Validator validator, ValidationReportWriter validationReportWriter, ValidationExecutors executors, int window,
+                               ValidationReportDiskCache reportCache, DataDirectoryDigests dataDirectoryDigests) {
+    this.validator = validator;
+    this.validationReportWriter = validationReportWriter;
+    this.executors = executors;
+    this.window = Math.max(1, window);
+    this.reportCache = reportCache;
+    this.dataDirectoryDigests = dataDirectoryDigests;
+  }
+
+  public BatchSummary run(byte[] templateContent, List<Path> instances, OutputStream out) throws IOException, InterruptedException {
+    var pending = new ArrayDeque<Future<ValidationReport>>(window);
+    var templateHash = reportCache != null ? ContentHash.sha256(templateContent) : null;
+    int invalidCount = 0;
+    try (var sink = validationReportWriter.openBatchReport(out)) {
+      int submitted = 0;
+      for (var instance : instances) {
+        while (submitted < instances.size() && pending.size() < window) {
+          var next = instances.get(submitted++);
+          pending.add(executors.io().submit(() -> executors.runInstance(() -> reportCache != null
+              ? validateCachedInstance(templateContent, templateHash, next)
+              : validateSingleInstance(templateContent, next))));
+        }
+        var report = getReport(pending.poll());
+        sink.startInstance(instance.toString());
+        sink.write(report);
+        int errorCount = countErrors(report.results());
+        if (errorCount > 0) {
+          invalidCount += 1;
+          System.err.println(instance + " is not valid. " + errorCount + " error(s) found.");
+        }
+      }
+    } finally {
+      pending.forEach(future -> future.cancel(true));
+    }
+    return new BatchSummary(instances.size(), invalidCount);
+  }
+
+  private ValidationReport validateSingleInstance(byte[] templateContent, Path instance) throws Exception {
+    if (!Files.exists(instance)) {
+      return errorReport("Instance file not found: " + instance);
+    }
+    if (dataDirectoryDigests != null) {
+      return validateWithDataFile(templateContent, Files.readAllBytes(instance));
+    }
+    if (executors.getMode() == ExecutionMode.PLATFORM) {
+      return validator.validateInstance(templateContent, instance);
+    }
+    byte[] instanceContent = Files.readAllBytes(instance);
+    return executors.runValidation(() -> validator.validateInstance(templateContent, instanceContent));
+  }
+
+  /**
+   * Parses the instance first to find the data file to hash, which is then hashed while the instance is validated.
+   */
+  private ValidationReport validateWithDataFile(byte[] templateContent, byte[] instanceContent) throws Exception {
+    JsonNode instanceNode;
+    try {
+      instanceNode = JsonLoader.loadJson(instanceContent, "Instance");
+    } catch (JsonParseException e) {
+      // the validator reports the parse error
+      return executors.runValidation(() -> validator.validateInstance(templateContent, instanceContent));
+    }
+    var literalFieldValidators = dataDirectoryDigests.getLiteralFieldValidators(instanceNode);
+    return executors.runValidation(() -> validator.validateInstance(templateContent, instanceNode, literalFieldValidators));
+  }
+
+  private ValidationReport validateCachedInstance(byte[] templateContent, String templateHash, Path instance) throws Exception {
+    if (!Files.exists(instance)) {
+      return errorReport("Instance file not found: " + instance);
+    }
+    byte[] instanceContent = Files.readAllBytes(instance);
+    var key = reportCache.getKey(templateHash, ContentHash.sha256(instanceContent));
+    var cachedReport = reportCache.get(key);
+    if (cachedReport.isPresent()) {
+      return cachedReport.get();
+    }
+    ValidationReport report;
+    if (executors.getMode() == ExecutionMode.PLATFORM) {
+      report = validator.validateInstance(templateContent, instanceContent);
+    } else {
+      report = executors.runValidation(() -> validator.validateInstance(templateContent, instanceContent));
+    }
+    reportCache.put(key, report);
+    return report;
+  }
+
+  static ValidationReport getReport(Future<ValidationReport> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      return errorReport(String.valueOf(e.getCause().getMessage()));
+    }
+  }
+
+  static ValidationReport errorReport(String message) {
+    return new ValidationReport(List.of(new ValidationResult(ValidationLevel.ERROR, ValidationName.UNKNOWN, message, "")));
+  }
+
+  static int countErrors(List<ValidationResult> results) {
+    int errorCount = 0;
+    for (ValidationResult result : results) {
+      if (result.validationLevel().equals(ValidationLevel.ERROR)) {
+        errorCount += 1;
+      }
+    }
+    return errorCount;
+  }
+
+  public record BatchSummary(int instanceCount, int invalidCount) {
+  }
+}
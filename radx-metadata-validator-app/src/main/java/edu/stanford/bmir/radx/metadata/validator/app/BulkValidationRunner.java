@@ -0,0 +1,94 @@
+package edu.stanford.bmir.radx.metadata.validator.app;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Validates every instance of a bulk file, either NDJSON or a top-level JSON array, against a single template.
+ * Instances are cut out of the file one at a time and validated on the given {@link ValidationExecutors}. At most
+ * {@code window} instances are read ahead of the report, so memory use does not grow with the size of the file.
+ * Results are written in record order and each record is reported as {@code <file>#<index>}.
+ */
+public class BulkValidationRunner {
+  private final Validator validator;
+  private final ValidationReportWriter validationReportWriter;
+  private final ValidationExecutors executors;
+  private final int window;
+
+  public BulkValidationRunner(Validator validator, ValidationReportWriter validationReportWriter, ValidationExecutors executors, int window) {
+    this.validator = validator;
+    this.validationReportWriter = validationReportWriter;
+    this.executors = executors;
+    this.window = Math.max(1, window);
+  }
+
+  public BatchValidationRunner.BatchSummary run(byte[] templateContent, Path bulkFile, OutputStream out) throws IOException, InterruptedException {
+    var pending = new ArrayDeque<PendingRecord>(window);
+    var progress = new Progress();
+    try (var input = Files.newInputStream(bulkFile);
+         var reader = new BulkInstanceReader(input, bulkFile.toString());
+         var sink = validationReportWriter.openBatchReport(out)) {
+      try {
+        var index = reader.getNextIndex();
+        var instance = reader.next();
+        while (instance != null) {
+          var record = instance;
+          pending.add(new PendingRecord(index, executors.io().submit(() -> executors.runValidation(() -> validator.validateInstance(templateContent, record)))));
+          if (pending.size() >= window) {
+            write(pending.poll(), bulkFile, sink, progress);
+          }
+          index = reader.getNextIndex();
+          instance = reader.next();
+        }
+      } catch (JsonParseException e) {
+        drain(pending, bulkFile, sink, progress);
+        var report = new ValidationReport(List.of(new ValidationResult(ValidationLevel.ERROR, ValidationName.JSON_VALIDATION, e.getMessage(), "")));
+        writeReport(reader.getNextIndex(), report, bulkFile, sink, progress);
+      }
+      drain(pending, bulkFile, sink, progress);
+    } finally {
+      pending.forEach(record -> record.report().cancel(true));
+    }
+    return new BatchValidationRunner.BatchSummary(progress.instanceCount, progress.invalidCount);
+  }
+
+  private void drain(ArrayDeque<PendingRecord> pending, Path bulkFile, ValidationReportSink sink, Progress progress) throws IOException, InterruptedException {
+    while (!pending.isEmpty()) {
+      write(pending.poll(), bulkFile, sink, progress);
+    }
+  }
+
+  private void write(PendingRecord record, Path bulkFile, ValidationReportSink sink, Progress progress) throws IOException, InterruptedException {
+    writeReport(record.index(), BatchValidationRunner.getReport(record.report()), bulkFile, sink, progress);
+  }
+
+  /**
+   * Writes the report of one record and counts it.
+   */
+  private void writeReport(int index, ValidationReport report, Path bulkFile, ValidationReportSink sink, Progress progress) throws IOException {
+    var name = bulkFile + "#" + index;
+    sink.startInstance(name);
+    sink.write(report);
+    progress.instanceCount += 1;
+    int errorCount = BatchValidationRunner.countErrors(report.results());
+    if (errorCount > 0) {
+      progress.invalidCount += 1;
+      System.err.println(name + " is not valid. " + errorCount + " error(s) found.");
+    }
+  }
+
+  private record PendingRecord(int index, Future<ValidationReport> report) {
+  }
+
+  private static class Progress {
+    private int instanceCount;
+    private int invalidCount;
+  }
+}
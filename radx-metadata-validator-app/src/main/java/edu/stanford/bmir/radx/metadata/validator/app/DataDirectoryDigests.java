@@ -0,0 +1,56 @@
+package edu.stanford.bmir.radx.metadata.validator.app;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checks the SHA256 digest of each instance in batch mode against the data file that the instance names in its
+ * File Name field, resolved against a data directory. The digest of the data file is computed by a
+ * {@link DataFileHasher} while the instance is validated.
+ */
+public class DataDirectoryDigests {
+  private static final JsonPointer FILE_NAME_POINTER = JsonPointer.compile(RADxSpecificFieldPath.FILE_NAME.getFieldPath().getPath() + "/@value");
+
+  private final Path dataDirectory;
+  private final DataFileHasher hasher;
+  private final LiteralFieldValidators literalFieldValidators;
+
+  /**
+   * @param literalFieldValidators The validators of the other literal fields, which are the same for every instance.
+   */
+  public DataDirectoryDigests(Path dataDirectory, DataFileHasher hasher, LiteralFieldValidators literalFieldValidators) {
+    this.dataDirectory = dataDirectory;
+    this.hasher = hasher;
+    this.literalFieldValidators = literalFieldValidators;
+  }
+
+  /**
+   * Starts hashing the data file of the instance and returns the literal field validators of the instance, which
+   * check its digest against the data file. Instances without a file name are validated without a digest check.
+   */
+  public LiteralFieldValidators getLiteralFieldValidators(JsonNode instance) {
+    var fileNameNode = instance.at(FILE_NAME_POINTER);
+    if (!fileNameNode.isTextual() || fileNameNode.textValue().isEmpty()) {
+      return literalFieldValidators;
+    }
+    var fileName = fileNameNode.textValue();
+    CompletableFuture<String> digest;
+    Path dataFile;
+    try {
+      dataFile = dataDirectory.resolve(fileName).normalize();
+      digest = dataFile.startsWith(dataDirectory.normalize())
+          ? hasher.sha256(dataFile)
+          : CompletableFuture.failedFuture(new IOException("the file is outside of the data directory"));
+    } catch (InvalidPathException e) {
+      dataFile = dataDirectory;
+      digest = CompletableFuture.failedFuture(new IOException("invalid file name " + fileName));
+    }
+    return literalFieldValidators.with(RADxSpecificFieldPath.SHA256_DIGEST.getFieldPath(), new DataFileDigestValidator(dataFile, digest));
+  }
+}
@@ -0,0 +1,57 @@
+package edu.stanford.bmir.radx.metadata.validator.app;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the set of instance files that a batch validation run should process.
+ */
+public class InstanceSources {
+  private InstanceSources() {
+  }
+
+  /**
+   * Lists the files under {@code directory} (recursively) whose path relative to the directory matches
+   * {@code glob}. The result is sorted so that batch reports are reproducible.
+   */
+  public static List<Path> fromDirectory(Path directory, String glob) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      throw new FileNotFoundException("Instance directory not found: " + directory);
+    }
+    var matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .filter(p -> matcher.matches(directory.relativize(p)) || matcher.matches(p.getFileName()))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Reads a manifest that lists one instance path per line. Blank lines and lines starting with {@code #} are
+   * ignored. Relative paths are resolved against the directory that contains the manifest.
+   */
+  public static List<Path> fromManifest(Path manifest) throws IOException {
+    if (!Files.exists(manifest)) {
+      throw new FileNotFoundException("Manifest file not found: " + manifest);
+    }
+    var baseDirectory = manifest.toAbsolutePath().getParent();
+    var instances = new ArrayList<Path>();
+    for (var line : Files.readAllLines(manifest)) {
+      var entry = line.trim();
+      if (entry.isEmpty() || entry.startsWith("#")) {
+        continue;
+      }
+      instances.add(baseDirectory.resolve(entry));
+    }
+    return instances;
+  }
+}
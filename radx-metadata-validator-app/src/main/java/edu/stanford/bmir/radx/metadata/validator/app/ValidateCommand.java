@@ -1,31 +1,79 @@
 package edu.stanford.bmir.radx.metadata.validator.app;
 
 import edu.stanford.bmir.radx.metadata.validator.lib.*;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.DataFileValidatorComponent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 @Component
 @Command(name = "validate", mixinStandardHelpOptions = true)
 public class ValidateCommand implements Callable<Integer> {
   private final ValidatorFactory validatorFactory;
   private final ValidationReportWriter validationReportWriter;
+  private final DataFileValidatorComponent dataFileValidatorComponent;
+  private final String schemaEngine;
+
+  @Spec
+  private CommandSpec spec;
+
   @Option(names = "--template", required = true, description = "Path to the JSON template file. This is optional. If it is not provided then the Radx Metadata Specification will be utilized by default.")
   private Path template;
 
-  @Option(names = "--instance", required = true, description = "Path to the JSON instance file that you want to validate.")
-  private Path instance;
+  @ArgGroup(exclusive = true, multiplicity = "1")
+  private InstanceInput instanceInput;
+
+  @Option(names = "--glob", defaultValue = "*.json", description = "Glob used to select instance files inside --instance-dir. Defaults to ${DEFAULT-VALUE}.")
+  private String glob;
+
+  @Option(names = "--threads", description = "Number of worker threads used to validate instances in batch mode. Defaults to the number of available processors.")
+  private int threads = Runtime.getRuntime().availableProcessors();
+
+  @Option(names = "--execution-mode", defaultValue = "PLATFORM", description = "How batch mode uses threads: ${COMPLETION-CANDIDATES}. PLATFORM reads and validates instances on --threads platform threads. VIRTUAL reads each instance on a virtual thread and validates on --threads platform threads, and requires Java 21. Defaults to ${DEFAULT-VALUE}.")
+  private ExecutionMode executionMode;
+
+  @Option(names = "--unsorted", description = "Write each result of a single instance as soon as it is found instead of writing the sorted report at the end.")
+  private boolean unsorted;
+
+  @Option(names = "--max-errors", defaultValue = "0", description = "Stop validating an instance after this many errors. 1 only reports whether the instance is valid. 0 reports every error. Defaults to ${DEFAULT-VALUE}.")
+  private int maxErrors;
+
+  @Option(names = "--concurrent-stages", description = "Run the independent stages of each validation in parallel. This lowers the latency of validating a single large instance.")
+  private boolean concurrentStages;
+
+  @Option(names = "--watch", description = "Keep running after validating --instance-dir and validate instances again as they are created or edited. The report of each instance is written next to it, with the suffix " + WatchValidationRunner.REPORT_SUFFIX + ".")
+  private boolean watch;
+
+  @Option(names = "--debounce", defaultValue = "200", description = "Milliseconds without file changes after which --watch validates the changed instances. Defaults to ${DEFAULT-VALUE}.")
+  private long debounceMillis;
+
+  @Option(names = "--cache-dir", description = "Directory in which the reports of batch mode are cached across runs. Instances whose template, content, validator version and options are unchanged are not validated again.")
+  private Path cacheDirectory;
+
+  @Option(names = "--cache-size", defaultValue = "512", description = "Maximum size of --cache-dir in megabytes. The least recently used reports are removed first. Defaults to ${DEFAULT-VALUE}.")
+  private long cacheSizeMegabytes;
 
   @Option(names = "--out", description = "Path to an output file where the validation report will be written. This is optional. If it is not provided then the report will be written to stdout.")
   private Path out;
@@ -39,10 +87,27 @@ public class ValidateCommand implements Callable<Integer> {
   @Option(names = "--sha256", description = "SHA256 digest value of data file.")
   private String sha256;
 
+  @Option(names = "--data-file", description = "Path to the CSV data file described by the metadata instance. Its SHA256 digest is computed while the instance is validated and is checked unless --sha256 is given. Its file name is checked unless --data is given.")
+  private Path dataFile;
+
+  @Option(names = "--data-dir", description = "Directory of the CSV data files described by the instances in batch mode. The SHA256 digest of each instance is checked against the file in this directory that the instance names in its File Name field.")
+  private Path dataDirectory;
+
+  @Option(names = "--dict-file", description = "Path to the CSV data dictionary of --data-file. The header of --data-file is checked against the variables of the dictionary, and its values against their datatypes, on --hash-threads threads. Its file name is checked unless --dict is given. Only supported with --instance.")
+  private Path dictFile;
+
+  @Option(names = "--hash-threads", defaultValue = "2", description = "Number of data files that are read and hashed at the same time. Defaults to ${DEFAULT-VALUE}.")
+  private int hashThreads;
+
+  private DataFileHasher dataFileHasher;
+
   @Autowired
-  public ValidateCommand(ValidatorFactory validatorFactory, @Qualifier("MetadataValidationReportWriter")ValidationReportWriter validationReportWriter) {
+  public ValidateCommand(ValidatorFactory validatorFactory, @Qualifier("MetadataValidationReportWriter")ValidationReportWriter validationReportWriter,
+                         DataFileValidatorComponent dataFileValidatorComponent, @Value("${radx.validator.schema-engine:fge}") String schemaEngine) {
     this.validatorFactory = validatorFactory;
     this.validationReportWriter = validationReportWriter;
+    this.dataFileValidatorComponent = dataFileValidatorComponent;
+    this.schemaEngine = schemaEngine;
   }
 
   private OutputStream getOutputStream() throws IOException {
@@ -54,30 +119,183 @@ public class ValidateCommand implements Callable<Integer> {
     }
   }
 
+  private StageExecutor getStageExecutor() {
+    return concurrentStages ? StageExecutor.concurrent(ForkJoinPool.commonPool()) : StageExecutor.SEQUENTIAL;
+  }
+
+  private ValidationReportDiskCache getReportCache() throws IOException {
+    if (cacheDirectory == null) {
+      return null;
+    }
+    if (dataDirectory != null) {
+      System.err.println("--cache-dir is not used with --data-dir, because the data files are not part of the cache key.");
+      return null;
+    }
+    //everything that changes the reports, apart from the template and instance contents
+    var dataFileVersion = dataFile == null ? "" : dataFile.toAbsolutePath() + ":" + Files.size(dataFile) + ":" + Files.getLastModifiedTime(dataFile).toMillis();
+    var configuration = String.join(";", "schema-engine=" + schemaEngine, "max-errors=" + maxErrors,
+        "sha256=" + sha256, "data=" + data, "dict=" + dict, "data-file=" + dataFileVersion, "dict-file=" + dictFile);
+    return new ValidationReportDiskCache(cacheDirectory, cacheSizeMegabytes * 1024 * 1024, configuration);
+  }
+
+  static class InstanceInput {
+    @Option(names = "--instance", required = true, description = "Path to the JSON instance file that you want to validate.")
+    private Path instance;
+
+    @Option(names = "--instance-dir", required = true, description = "Path to a directory of JSON instance files that you want to validate against the same template. A single combined report is written.")
+    private Path instanceDirectory;
+
+    @Option(names = "--manifest", required = true, description = "Path to a file that lists one JSON instance file per line. Relative paths are resolved against the manifest's directory. A single combined report is written.")
+    private Path manifest;
+
+    @Option(names = "--bulk", required = true, description = "Path to an NDJSON file, or a file with a top-level JSON array, of instances that you want to validate against the same template. The file is streamed and a single combined report is written, with each instance identified by its record index.")
+    private Path bulk;
+  }
+
   @Override
   public Integer call() throws Exception {
+    if (dictFile != null && (dataFile == null || instanceInput.instance == null || watch)) {
+      throw new ParameterException(spec.commandLine(), "--dict-file is only supported with --instance and --data-file.");
+    }
+    if (dataFile != null && !Files.exists(dataFile)) {
+      throw new FileNotFoundException("Data file not found: " + dataFile);
+    }
+    if (dictFile != null && !Files.exists(dictFile)) {
+      throw new FileNotFoundException("Data dictionary file not found: " + dictFile);
+    }
+    if (dataDirectory != null && !Files.isDirectory(dataDirectory)) {
+      throw new FileNotFoundException("Data directory not found: " + dataDirectory);
+    }
+    try (var hasher = new DataFileHasher(hashThreads)) {
+      dataFileHasher = hasher;
+      return validate();
+    }
+  }
+
+  private Integer validate() throws Exception {
     if (!Files.exists(template)) {
       throw new FileNotFoundException("Template file not found: " + template);
     }
+    if (watch) {
+      return validateWatch();
+    }
+    if (instanceInput.instance == null) {
+      return validateBatch();
+    }
+
+    var instance = instanceInput.instance;
     if (!Files.exists(instance)) {
       throw new FileNotFoundException("Instance file not found: " + instance);
     }
 
+    //the data file is checked on its own threads, apart from the pool that --concurrent-stages uses
+    var dataFileExecutor = dataFile != null && dictFile != null ? Executors.newFixedThreadPool(Math.max(1, hashThreads) + 1) : null;
+    try {
+      var dataFileResults = validateDataFile(dataFileExecutor);
+      var out = getOutputStream();
+      var validator = createValidator(getLiteralFieldValidators());
+      int errorCount;
+      try (var sink = validationReportWriter.openReport(out)) {
+        if (unsorted) {
+          validator.validateInstance(template, instance, sink);
+          if (dataFileResults != null) {
+            dataFileResults.join().forEach(sink);
+          }
+        } else {
+          var report = validator.validateInstance(template, instance);
+          if (dataFileResults != null) {
+            var results = new ArrayList<>(report.results());
+            results.addAll(dataFileResults.join());
+            results.sort(ValidationReport.RESULT_ORDER);
+            report = new ValidationReport(results);
+          }
+          sink.write(report);
+        }
+        errorCount = sink.getErrorCount();
+      }
+      if( errorCount > 0){
+        System.out.println(instance + " is not valid. " + errorCount + " error(s) found.");
+      } else{
+        System.out.println(instance + " is valid");
+      }
+
+      if(out != System.out) {
+        out.close();
+      }
+    } finally {
+      if (dataFileExecutor != null) {
+        dataFileExecutor.shutdownNow();
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * Starts checking --data-file against --dict-file, which runs while the instance is validated. One thread of the
+   * executor waits for the check while the others, --hash-threads of them, parse the byte ranges of the data file.
+   * Returns null if the executor is null.
+   */
+  private CompletableFuture<List<ValidationResult>> validateDataFile(ExecutorService executor) {
+    if (executor == null) {
+      return null;
+    }
+    return CompletableFuture.supplyAsync(() -> {
+      var results = new ArrayList<ValidationResult>();
+      try {
+        dataFileValidatorComponent.validate(dataFile, dictFile, executor, results::add);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return results;
+    }, executor);
+  }
+
+  private Integer validateBatch() throws Exception {
+    if (instanceInput.bulk != null) {
+      return validateBulk();
+    }
+    List<Path> instances;
+    if (instanceInput.instanceDirectory != null) {
+      instances = InstanceSources.fromDirectory(instanceInput.instanceDirectory, glob);
+    } else {
+      instances = InstanceSources.fromManifest(instanceInput.manifest);
+    }
+
     var out = getOutputStream();
-//    var validator = validatorFactory.createValidator(getLiteralFieldValidatorsComponent());
-    var validator = validatorFactory.createValidator(new LiteralFieldValidators(new HashMap<>()));
-    String templateContent = Files.readString(template);
-    String instanceContent = Files.readString(instance);
-    var report = validator.validateInstance(templateContent, instanceContent);
+    var literalFieldValidators = getLiteralFieldValidators();
+    var validator = createValidator(literalFieldValidators);
+    byte[] templateContent = Files.readAllBytes(template);
+    BatchValidationRunner.BatchSummary summary;
+    try (var executors = ValidationExecutors.create(executionMode, threads)) {
+      var dataDirectoryDigests = dataDirectory == null ? null
+          : new DataDirectoryDigests(dataDirectory, dataFileHasher, literalFieldValidators);
+      var runner = new BatchValidationRunner(validator, validationReportWriter, executors, threads * 4, getReportCache(), dataDirectoryDigests);
+      summary = runner.run(templateContent, instances, out);
+    }
+    System.err.println(summary.instanceCount() + " instance(s) validated. " + summary.invalidCount() + " instance(s) are not valid.");
 
-    validationReportWriter.writeReportHeader(out);
-    validationReportWriter.writeReport(report, out);
-    int errorCount = isValid(report.results());
-    if( errorCount > 0){
-      System.out.println(instance + " is not valid. " + errorCount + " error(s) found.");
-    } else{
-      System.out.println(instance + " is valid");
+    if(out != System.out) {
+      out.close();
+    }
+
+    return 0;
+  }
+
+  private Integer validateBulk() throws Exception {
+    if (!Files.exists(instanceInput.bulk)) {
+      throw new FileNotFoundException("Bulk instance file not found: " + instanceInput.bulk);
+    }
+
+    var out = getOutputStream();
+    var validator = createValidator(getLiteralFieldValidators());
+    byte[] templateContent = Files.readAllBytes(template);
+    BatchValidationRunner.BatchSummary summary;
+    try (var executors = ValidationExecutors.create(executionMode, threads)) {
+      var runner = new BulkValidationRunner(validator, validationReportWriter, executors, threads * 4);
+      summary = runner.run(templateContent, instanceInput.bulk, out);
     }
+    System.err.println(summary.instanceCount() + " instance(s) validated. " + summary.invalidCount() + " instance(s) are not valid.");
 
     if(out != System.out) {
       out.close();
@@ -86,25 +304,44 @@ public class ValidateCommand implements Callable<Integer> {
     return 0;
   }
 
-  private Integer isValid(List<ValidationResult> report){
-    int errorCount = 0;
-    for(ValidationResult result: report){
-      if(result.validationLevel().equals(ValidationLevel.ERROR)){
-        errorCount += 1;
-      }
+  private Integer validateWatch() throws Exception {
+    if (instanceInput.instanceDirectory == null) {
+      throw new IllegalArgumentException("--watch requires --instance-dir.");
+    }
+    if (!Files.isDirectory(instanceInput.instanceDirectory)) {
+      throw new FileNotFoundException("Instance directory not found: " + instanceInput.instanceDirectory);
     }
-    return  errorCount;
+
+    var validator = createValidator(getLiteralFieldValidators());
+    byte[] templateContent = Files.readAllBytes(template);
+    var runner = new WatchValidationRunner(validator, validationReportWriter, debounceMillis);
+    runner.run(templateContent, instanceInput.instanceDirectory, glob);
+    return 0;
   }
 
-  private LiteralFieldValidators getLiteralFieldValidatorsComponent(){
+  private Validator createValidator(LiteralFieldValidators literalFieldValidators) {
+    return validatorFactory.createValidator(literalFieldValidators, new ValidationOptions(maxErrors), getStageExecutor());
+  }
+
+  /**
+   * Creates the validators of the RADx literal fields. Hashing of --data-file starts here and runs while the
+   * instances are validated.
+   */
+  private LiteralFieldValidators getLiteralFieldValidators(){
     var map = new HashMap<FieldPath, LiteralFieldValidator>();
     if(sha256 != null){
       String errorMessage = String.format("Expected SHA256 digest equals to %s", sha256);
       String warningMessage = String.format("Expected SHA256 digest equals to %s, but an empty value is received.", sha256);
       var constantValueFieldValidator = new ConstantValueFieldValidator(sha256, errorMessage, warningMessage);
       map.put(RADxSpecificFieldPath.SHA256_DIGEST.getFieldPath(), constantValueFieldValidator);
+    } else if(dataFile != null){
+      map.put(RADxSpecificFieldPath.SHA256_DIGEST.getFieldPath(), new DataFileDigestValidator(dataFile, dataFileHasher.sha256(dataFile)));
     }
 
+    var data = this.data;
+    if(data == null && dataFile != null){
+      data = dataFile.getFileName().toString();
+    }
     if(data != null){
       String errorMessage = String.format("Expected File Name equals to %s", data);
       String warningMessage = String.format("Expected File Name equals to %s, but an empty value is received.", data);
@@ -112,6 +349,10 @@ public class ValidateCommand implements Callable<Integer> {
       map.put(RADxSpecificFieldPath.FILE_NAME.getFieldPath(), constantValueFieldValidator);
     }
 
+    var dict = this.dict;
+    if(dict == null && dictFile != null){
+      dict = dictFile.getFileName().toString();
+    }
     if(dict != null){
       String errorMessage = String.format("Expected Data Dictionary File Name equals to %s", dict);
       String warningMessage = String.format("Expected Data Dictionary File Name equals to %s, but an empty value is received.", dict);
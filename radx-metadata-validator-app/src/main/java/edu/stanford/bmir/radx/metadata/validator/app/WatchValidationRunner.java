@@ -0,0 +1,178 @@
+package edu.stanford.bmir.radx.metadata.validator.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Validates the instances in a directory and then keeps validating them as they are created or edited, until the
+ * thread is interrupted. Events are collected until the directory has been quiet for the debounce interval, and
+ * only the files that changed are validated again. The report of each instance is written next to it. The hash
+ * and report of every instance are kept, but the parsed previous version only of the most recently validated
+ * instances, so edits of those are re-validated incrementally and memory does not grow with the directory.
+ */
+public class WatchValidationRunner {
+  public static final String REPORT_SUFFIX = ".report.csv";
+  public static final int DEFAULT_MAX_CACHED_INSTANCES = 100;
+
+  private final Validator validator;
+  private final ValidationReportWriter validationReportWriter;
+  private final long debounceMillis;
+  private final Map<Path, ValidatedInstance> validatedInstances = new HashMap<>();
+  private final Map<Path, JsonNode> cachedInstances;
+
+  public WatchValidationRunner(Validator validator, ValidationReportWriter validationReportWriter, long debounceMillis) {
+    this(validator, validationReportWriter, debounceMillis, DEFAULT_MAX_CACHED_INSTANCES);
+  }
+
+  /**
+   * @param maxCachedInstances The number of parsed instances kept to re-validate their edits incrementally. Edits
+   *                           of other instances are validated in full.
+   */
+  public WatchValidationRunner(Validator validator, ValidationReportWriter validationReportWriter, long debounceMillis, int maxCachedInstances) {
+    this.validator = validator;
+    this.validationReportWriter = validationReportWriter;
+    this.debounceMillis = debounceMillis;
+    this.cachedInstances = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, JsonNode> eldest) {
+        return size() > maxCachedInstances;
+      }
+    };
+  }
+
+  public void run(byte[] templateContent, Path directory, String glob) throws IOException, InterruptedException {
+    var matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    try (var watchService = directory.getFileSystem().newWatchService()) {
+      registerAll(directory, watchService);
+      for (var instance : InstanceSources.fromDirectory(directory, glob)) {
+        if (!isReport(instance)) {
+          validate(templateContent, instance);
+        }
+      }
+      System.out.println("Watching " + directory + " for changes.");
+
+      while (!Thread.currentThread().isInterrupted()) {
+        var changedFiles = new LinkedHashSet<Path>();
+        var key = watchService.take();
+        while (key != null) {
+          collectChanges(key, watchService, changedFiles);
+          key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        for (var file : changedFiles) {
+          if (isReport(file) || !(matcher.matches(directory.relativize(file)) || matcher.matches(file.getFileName()))) {
+            continue;
+          }
+          if (Files.isRegularFile(file)) {
+            validate(templateContent, file);
+          } else if (validatedInstances.remove(file) != null) {
+            cachedInstances.remove(file);
+            Files.deleteIfExists(getReportPath(file));
+          }
+        }
+      }
+    }
+  }
+
+  private void collectChanges(WatchKey key, WatchService watchService, Set<Path> changedFiles) throws IOException {
+    var watchedDirectory = (Path) key.watchable();
+    for (var event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        //events were lost, so check every file that has been validated
+        changedFiles.addAll(validatedInstances.keySet());
+        continue;
+      }
+      var file = watchedDirectory.resolve((Path) event.context());
+      if (event.kind() == ENTRY_DELETE) {
+        //a deleted directory only reports itself, so also check the instances that were inside it
+        validatedInstances.keySet().stream().filter(path -> path.startsWith(file)).forEach(changedFiles::add);
+      }
+      if (event.kind() == ENTRY_CREATE && Files.isDirectory(file)) {
+        registerAll(file, watchService);
+        try (Stream<Path> paths = Files.walk(file)) {
+          paths.filter(Files::isRegularFile).forEach(changedFiles::add);
+        }
+      } else {
+        changedFiles.add(file);
+      }
+    }
+    key.reset();
+  }
+
+  private void registerAll(Path directory, WatchService watchService) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (var path : (Iterable<Path>) paths.filter(Files::isDirectory)::iterator) {
+        path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+      }
+    }
+  }
+
+  private void validate(byte[] templateContent, Path instance) {
+    try {
+      byte[] instanceContent = Files.readAllBytes(instance);
+      var hash = ContentHash.sha256(instanceContent);
+      var previous = validatedInstances.get(instance);
+      if (previous != null && previous.hash().equals(hash)) {
+        return;
+      }
+
+      ValidationReport report;
+      JsonNode instanceNode = null;
+      try {
+        instanceNode = JsonLoader.loadJson(instanceContent, "Instance");
+      } catch (JsonParseException e) {
+        // validated below so that the report has the parse error
+      }
+      if (instanceNode == null) {
+        report = validator.validateInstance(templateContent, instanceContent);
+      } else if (previous != null && cachedInstances.containsKey(instance)) {
+        report = validator.revalidateInstance(templateContent, cachedInstances.get(instance), previous.report(), instanceNode);
+      } else {
+        report = validator.validateInstance(templateContent, instanceNode);
+      }
+      validatedInstances.put(instance, new ValidatedInstance(hash, report));
+      if (instanceNode != null) {
+        cachedInstances.put(instance, instanceNode);
+      } else {
+        cachedInstances.remove(instance);
+      }
+
+      try (var out = Files.newOutputStream(getReportPath(instance));
+           var sink = validationReportWriter.openReport(out)) {
+        sink.write(report);
+      }
+      int errorCount = BatchValidationRunner.countErrors(report.results());
+      if (errorCount > 0) {
+        System.out.println(instance + " is not valid. " + errorCount + " error(s) found.");
+      } else {
+        System.out.println(instance + " is valid");
+      }
+    } catch (NoSuchFileException e) {
+      // deleted before it could be read, the delete event follows
+    } catch (Exception e) {
+      System.out.println("Could not validate " + instance + ": " + e.getMessage());
+    }
+  }
+
+  private static Path getReportPath(Path instance) {
+    return instance.resolveSibling(instance.getFileName() + REPORT_SUFFIX);
+  }
+
+  private static boolean isReport(Path file) {
+    return file.getFileName().toString().endsWith(REPORT_SUFFIX);
+  }
+
+  private record ValidatedInstance(String hash, ValidationReport report) {
+  }
+}
@@ -0,0 +1,29 @@
+package edu.stanford.bmir.radx.metadata.validator.bench;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.LiteralFieldValidators;
+import edu.stanford.bmir.radx.metadata.validator.lib.Validator;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidatorFactory;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.SchemaEngineType;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashMap;
+
+/**
+ * Creates the validator components the same way the application does, by scanning the validator library.
+ */
+public class BenchmarkValidators {
+  private static final String LIBRARY_PACKAGE = "edu.stanford.bmir.radx.metadata.validator.lib";
+  private static final String SCHEMA_ENGINE_PROPERTY = "radx.validator.schema-engine";
+
+  private BenchmarkValidators() {
+  }
+
+  public static AnnotationConfigApplicationContext createContext(SchemaEngineType schemaEngineType) {
+    System.setProperty(SCHEMA_ENGINE_PROPERTY, schemaEngineType.name());
+    return new AnnotationConfigApplicationContext(LIBRARY_PACKAGE);
+  }
+
+  public static Validator createValidator(AnnotationConfigApplicationContext context) {
+    return context.getBean(ValidatorFactory.class).createValidator(new LiteralFieldValidators(new HashMap<>()));
+  }
+}
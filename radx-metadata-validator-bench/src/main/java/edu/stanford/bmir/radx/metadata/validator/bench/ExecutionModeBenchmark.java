@@ -0,0 +1,117 @@
+package edu.stanford.bmir.radx.metadata.validator.bench;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.ExecutionMode;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationExecutors;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationReport;
+import edu.stanford.bmir.radx.metadata.validator.lib.Validator;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.SchemaEngineType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link ExecutionMode#PLATFORM} and {@link ExecutionMode#VIRTUAL} on a mix of file reads and validation.
+ * {@code batch} measures the throughput of validating a directory of instance files. {@code request} measures the
+ * latency distribution of single validations issued by many concurrent callers. As in the server, which serves
+ * requests on virtual threads, each request is read on {@link ValidationExecutors#io()} and then validated with
+ * {@link ValidationExecutors#runValidation}, in both modes. The {@code VIRTUAL} mode needs Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModeBenchmark {
+  @Param({"PLATFORM", "VIRTUAL"})
+  public ExecutionMode executionMode;
+
+  @Param({"100"})
+  public int fieldCount;
+
+  @Param({"200"})
+  public int instanceCount;
+
+  private AnnotationConfigApplicationContext context;
+  private Validator validator;
+  private ValidationExecutors executors;
+  private SyntheticTemplates.Fixture fixture;
+  private Path instanceDirectory;
+  private List<Path> instances;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    if (executionMode == ExecutionMode.VIRTUAL && !ValidationExecutors.isVirtualThreadSupported()) {
+      throw new IllegalStateException("The VIRTUAL execution mode needs Java 21 or later");
+    }
+    context = BenchmarkValidators.createContext(SchemaEngineType.FGE);
+    validator = BenchmarkValidators.createValidator(context);
+    executors = ValidationExecutors.create(executionMode, Runtime.getRuntime().availableProcessors());
+    fixture = SyntheticTemplates.generate(new SyntheticTemplates.Shape(fieldCount, 2, 3));
+
+    instanceDirectory = Files.createTempDirectory("radx-bench-instances");
+    instances = new ArrayList<>(instanceCount);
+    for (int i = 0; i < instanceCount; i++) {
+      var instance = instanceDirectory.resolve("instance-" + i + ".json");
+      Files.write(instance, fixture.instance());
+      instances.add(instance);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    executors.close();
+    context.close();
+    try (Stream<Path> files = Files.walk(instanceDirectory)) {
+      for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int batch() throws Exception {
+    var futures = new ArrayList<Future<ValidationReport>>(instances.size());
+    for (var instance : instances) {
+      futures.add(executors.io().submit(() -> validate(instance)));
+    }
+    int resultCount = 0;
+    for (var future : futures) {
+      resultCount += future.get().results().size();
+    }
+    return resultCount;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(64)
+  public ValidationReport request() throws Exception {
+    var instance = instances.get(ThreadIndex.next(instances.size()));
+    return executors.io().submit(() -> validate(instance)).get();
+  }
+
+  private ValidationReport validate(Path instance) throws Exception {
+    byte[] instanceContent = Files.readAllBytes(instance);
+    return executors.runValidation(() -> validator.validateInstance(fixture.template(), instanceContent));
+  }
+
+  private static class ThreadIndex {
+    private static final ThreadLocal<int[]> NEXT = ThreadLocal.withInitial(() -> new int[1]);
+
+    static int next(int size) {
+      var next = NEXT.get();
+      next[0] = (next[0] + 1) % size;
+      return next[0];
+    }
+  }
+}
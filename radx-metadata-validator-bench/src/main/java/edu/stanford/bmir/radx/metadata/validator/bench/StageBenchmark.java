@@ -0,0 +1,184 @@
+package edu.stanford.bmir.radx.metadata.validator.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.*;
+import org.metadatacenter.artifacts.model.core.TemplateInstanceArtifact;
+import org.metadatacenter.artifacts.model.reader.JsonSchemaArtifactReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Each validation stage on its own, on the same synthetic templates as {@link ValidatorBenchmark}. Every stage
+ * gets its inputs prepared up front so that only the stage itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StageBenchmark {
+  @Param({"10", "100", "500"})
+  public int fieldCount;
+
+  @Param({"1", "3"})
+  public int depth;
+
+  @Param({"1", "5"})
+  public int arrayLength;
+
+  private AnnotationConfigApplicationContext context;
+  private SyntheticTemplates.Fixture fixture;
+  private JsonNode templateNode;
+  private JsonNode instanceNode;
+  private String templateHash;
+  private CompiledTemplate compiledTemplate;
+  private TemplateInstanceArtifact templateInstanceArtifact;
+  private TemplateInstanceValuesReporter valuesReporter;
+  private LiteralFieldValidators literalFieldValidators;
+
+  private CedarSchemaValidatorComponent cedarSchemaValidatorComponent;
+  private TemplateCompiler templateCompiler;
+  private SchemaValidatorComponent fgeSchemaValidatorComponent;
+  private SchemaValidatorComponent networkntSchemaValidatorComponent;
+  private CompiledSchema fgeInstanceSchema;
+  private CompiledSchema networkntInstanceSchema;
+  private SanitationChecker sanitationChecker;
+  private RequiredFieldValidatorComponent requiredFieldValidatorComponent;
+  private DataTypeValidatorComponent dataTypeValidatorComponent;
+  private CardinalityValidatorComponent cardinalityValidatorComponent;
+  private FusedInstanceValidatorComponent fusedInstanceValidatorComponent;
+  private RadxPrecisionValidatorComponent radxPrecisionValidatorComponent;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkValidators.createContext(SchemaEngineType.FGE);
+    fixture = SyntheticTemplates.generate(new SyntheticTemplates.Shape(fieldCount, depth, arrayLength));
+    templateNode = JsonLoader.loadJson(fixture.template(), "Template");
+    instanceNode = JsonLoader.loadJson(fixture.instance(), "Instance");
+    templateHash = ContentHash.sha256(fixture.template());
+
+    cedarSchemaValidatorComponent = context.getBean(CedarSchemaValidatorComponent.class);
+    templateCompiler = context.getBean(TemplateCompiler.class);
+    sanitationChecker = context.getBean(SanitationChecker.class);
+    requiredFieldValidatorComponent = context.getBean(RequiredFieldValidatorComponent.class);
+    dataTypeValidatorComponent = context.getBean(DataTypeValidatorComponent.class);
+    cardinalityValidatorComponent = context.getBean(CardinalityValidatorComponent.class);
+    fusedInstanceValidatorComponent = context.getBean(FusedInstanceValidatorComponent.class);
+    radxPrecisionValidatorComponent = context.getBean(RadxPrecisionValidatorComponent.class);
+    fgeSchemaValidatorComponent = new SchemaValidatorComponent(SchemaEngineType.FGE.createEngine());
+    networkntSchemaValidatorComponent = new SchemaValidatorComponent(SchemaEngineType.NETWORKNT.createEngine());
+    fgeInstanceSchema = fgeSchemaValidatorComponent.compile(templateNode);
+    networkntInstanceSchema = networkntSchemaValidatorComponent.compile(templateNode);
+
+    compiledTemplate = templateCompiler.compile(templateHash, fixture.template().length, templateNode);
+    templateInstanceArtifact = new JsonSchemaArtifactReader().readTemplateInstanceArtifact((ObjectNode) instanceNode);
+    valuesReporter = new TemplateInstanceValuesReporter(templateInstanceArtifact);
+    literalFieldValidators = new LiteralFieldValidators(new HashMap<>());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public JsonNode parseInstance() {
+    return JsonLoader.loadJson(fixture.instance(), "Instance");
+  }
+
+  @Benchmark
+  public String hashTemplate() {
+    return ContentHash.sha256(fixture.template());
+  }
+
+  @Benchmark
+  public void cedarModelValidation(Blackhole blackhole) {
+    cedarSchemaValidatorComponent.validate(templateHash, templateNode, handler(blackhole));
+  }
+
+  @Benchmark
+  public CompiledTemplate compileTemplate() {
+    return templateCompiler.compile(templateHash, fixture.template().length, templateNode);
+  }
+
+  /**
+   * Compiles the template's schema on every call, as validation did before compiled schemas were cached.
+   */
+  @Benchmark
+  public void schemaValidationFgeUncompiled(Blackhole blackhole) {
+    fgeSchemaValidatorComponent.validate(templateNode, instanceNode, handler(blackhole));
+  }
+
+  @Benchmark
+  public void schemaValidationNetworkntUncompiled(Blackhole blackhole) {
+    networkntSchemaValidatorComponent.validate(templateNode, instanceNode, handler(blackhole));
+  }
+
+  @Benchmark
+  public void schemaValidationFge(Blackhole blackhole) {
+    fgeSchemaValidatorComponent.validate(fgeInstanceSchema, instanceNode, handler(blackhole));
+  }
+
+  @Benchmark
+  public void schemaValidationNetworknt(Blackhole blackhole) {
+    networkntSchemaValidatorComponent.validate(networkntInstanceSchema, instanceNode, handler(blackhole));
+  }
+
+  @Benchmark
+  public TemplateInstanceArtifact readInstanceArtifact() {
+    return new JsonSchemaArtifactReader().readTemplateInstanceArtifact((ObjectNode) instanceNode);
+  }
+
+  @Benchmark
+  public TemplateInstanceValuesReporter collectValues() {
+    return new TemplateInstanceValuesReporter(templateInstanceArtifact);
+  }
+
+  @Benchmark
+  public void sanitation(Blackhole blackhole) {
+    sanitationChecker.validate(compiledTemplate.templateSchemaArtifact(), templateInstanceArtifact, handler(blackhole));
+  }
+
+  @Benchmark
+  public void requiredFields(Blackhole blackhole) {
+    requiredFieldValidatorComponent.validate(compiledTemplate.requiredFields(), compiledTemplate.templateReporter(), valuesReporter, handler(blackhole));
+  }
+
+  @Benchmark
+  public void dataTypeWithTemplateReporter(Blackhole blackhole) {
+    dataTypeValidatorComponent.validate(compiledTemplate.templateReporter(), valuesReporter, handler(blackhole));
+  }
+
+  @Benchmark
+  public void dataTypeWithValidationPlan(Blackhole blackhole) {
+    dataTypeValidatorComponent.validate(compiledTemplate.validationPlan(), valuesReporter, handler(blackhole));
+  }
+
+  @Benchmark
+  public void cardinality(Blackhole blackhole) {
+    cardinalityValidatorComponent.validate(compiledTemplate.templateReporter(), valuesReporter, handler(blackhole));
+  }
+
+  @Benchmark
+  public Object fusedInstanceValidation(Blackhole blackhole) {
+    return fusedInstanceValidatorComponent.validate(compiledTemplate.validationPlan(), compiledTemplate.requiredFields(),
+        templateInstanceArtifact, radxPrecisionValidatorComponent.getFieldPaths(), handler(blackhole));
+  }
+
+  @Benchmark
+  public void radxPrecision(Blackhole blackhole) {
+    radxPrecisionValidatorComponent.validate(literalFieldValidators, valuesReporter, handler(blackhole));
+  }
+
+  private static Consumer<ValidationResult> handler(Blackhole blackhole) {
+    return blackhole::consume;
+  }
+}
@@ -0,0 +1,193 @@
+package edu.stanford.bmir.radx.metadata.validator.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.JsonLoader;
+import org.metadatacenter.artifacts.model.core.ElementSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.FieldSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.TemplateSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.TextField;
+import org.metadatacenter.artifacts.model.renderer.JsonSchemaArtifactRenderer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates CEDAR templates of a given shape together with a valid instance of each template. Templates are built
+ * with the CEDAR artifact builders and rendered to JSON schema, and the instance is derived from the rendered
+ * schema so that it passes every validation stage.
+ */
+public class SyntheticTemplates {
+  private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+  private static final String TEXT_REGEX = "^[a-z0-9 ]*$";
+
+  private SyntheticTemplates() {
+  }
+
+  /**
+   * @param fieldCount  The total number of fields in the template.
+   * @param depth       The number of nested elements. Fields are spread evenly over the template and its elements.
+   * @param arrayLength The number of instances of every multi-instance element and field.
+   */
+  public record Shape(int fieldCount, int depth, int arrayLength) {
+    public String name() {
+      return "fields-" + fieldCount + "-depth-" + depth + "-array-" + arrayLength;
+    }
+  }
+
+  public record Fixture(Shape shape, byte[] template, byte[] instance) {
+  }
+
+  public static Fixture generate(Shape shape) {
+    var templateId = URI.create("https://repo.metadatacenter.org/templates/bench-" + shape.name());
+    var templateSchemaArtifact = buildTemplate(shape, templateId);
+    ObjectNode template = new JsonSchemaArtifactRenderer().renderTemplateSchemaArtifact(templateSchemaArtifact);
+    var instance = (ObjectNode) fill("", template, shape, templateId.toString());
+    return new Fixture(shape, toBytes(template), toBytes(instance));
+  }
+
+  private static TemplateSchemaArtifact buildTemplate(Shape shape, URI templateId) {
+    int fieldsPerLevel = Math.max(1, shape.fieldCount() / (shape.depth() + 1));
+    ElementSchemaArtifact child = null;
+    for (int level = shape.depth(); level >= 1; level--) {
+      var builder = ElementSchemaArtifact.builder()
+          .withName("Element " + level)
+          .withIsMultiple(shape.arrayLength() > 1);
+      for (var field : buildFields(level, fieldsPerLevel, shape)) {
+        builder.withFieldSchema(field);
+      }
+      if (child != null) {
+        builder.withElementSchema(child);
+      }
+      child = builder.build();
+    }
+
+    var builder = TemplateSchemaArtifact.builder()
+        .withJsonLdId(templateId)
+        .withName("Benchmark template " + shape.name());
+    for (var field : buildFields(0, fieldsPerLevel, shape)) {
+      builder.withFieldSchema(field);
+    }
+    if (child != null) {
+      builder.withElementSchema(child);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Every third field has a regex, every fourth field requires a value and every fifth field is multi-instance.
+   */
+  private static List<FieldSchemaArtifact> buildFields(int level, int count, Shape shape) {
+    var fields = new ArrayList<FieldSchemaArtifact>(count);
+    for (int i = 0; i < count; i++) {
+      var builder = TextField.builder()
+          .withName("Field " + level + "." + i)
+          .withMaxLength(64)
+          .withRequiredValue(i % 4 == 0)
+          .withIsMultiple(i % 5 == 0 && shape.arrayLength() > 1);
+      if (i % 3 == 0) {
+        builder.withRegex(TEXT_REGEX);
+      }
+      fields.add(builder.build());
+    }
+    return fields;
+  }
+
+  /**
+   * Builds the smallest value that the given JSON schema accepts, filling arrays with {@code arrayLength} items.
+   */
+  private static JsonNode fill(String name, JsonNode schema, Shape shape, String templateId) {
+    if (schema.has("enum")) {
+      return schema.get("enum").get(0);
+    }
+    if (schema.has("oneOf")) {
+      return fill(name, schema.get("oneOf").get(0), shape, templateId);
+    }
+    if (schema.has("anyOf")) {
+      return fill(name, schema.get("anyOf").get(0), shape, templateId);
+    }
+    if (name.equals("schema:isBasedOn")) {
+      return NODES.textNode(templateId);
+    }
+
+    var type = schema.path("type");
+    String typeName;
+    if (type.isArray()) {
+      if (!name.equals("@value") && containsText(type, "null")) {
+        return NODES.nullNode();
+      }
+      typeName = type.get(0).asText();
+    } else if (type.isTextual()) {
+      typeName = type.asText();
+    } else {
+      typeName = schema.has("properties") ? "object" : "string";
+    }
+
+    switch (typeName) {
+      case "object":
+        return fillObject(schema, shape, templateId);
+      case "array":
+        ArrayNode array = NODES.arrayNode();
+        int length = Math.max(shape.arrayLength(), schema.path("minItems").asInt(0));
+        for (int i = 0; i < length; i++) {
+          array.add(fill(name, schema.path("items"), shape, templateId));
+        }
+        return array;
+      case "integer":
+      case "number":
+        return NODES.numberNode(0);
+      case "boolean":
+        return NODES.booleanNode(false);
+      case "null":
+        return NODES.nullNode();
+      default:
+        var format = schema.path("format").asText("");
+        if (format.equals("uri")) {
+          return NODES.textNode("https://example.org/" + name.replace(' ', '-'));
+        } else if (format.equals("date-time")) {
+          return NODES.textNode("2024-01-01T00:00:00-08:00");
+        }
+        return NODES.textNode("value");
+    }
+  }
+
+  private static ObjectNode fillObject(JsonNode schema, Shape shape, String templateId) {
+    var object = NODES.objectNode();
+    var properties = schema.path("properties");
+    if (schema.has("required")) {
+      for (var required : schema.get("required")) {
+        var name = required.asText();
+        object.set(name, fill(name, properties.path(name), shape, templateId));
+      }
+    } else {
+      var names = properties.fieldNames();
+      while (names.hasNext()) {
+        var name = names.next();
+        object.set(name, fill(name, properties.get(name), shape, templateId));
+      }
+    }
+    return object;
+  }
+
+  private static boolean containsText(JsonNode array, String text) {
+    for (var item : array) {
+      if (item.asText().equals(text)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] toBytes(JsonNode node) {
+    try {
+      return JsonLoader.getObjectMapper().writeValueAsBytes(node);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package edu.stanford.bmir.radx.metadata.validator.bench;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.CompiledTemplateCache;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationLevel;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationReport;
+import edu.stanford.bmir.radx.metadata.validator.lib.Validator;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.SchemaEngineType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link Validator#validateInstance(byte[], byte[])} on synthetic templates. With {@code warm} template
+ * caching the compiled template is reused across invocations, as in a batch run. With {@code cold} caching the
+ * template is compiled for every instance, as in a one-shot command line run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+  @Param({"10", "100", "500"})
+  public int fieldCount;
+
+  @Param({"1", "3"})
+  public int depth;
+
+  @Param({"1", "5"})
+  public int arrayLength;
+
+  @Param({"FGE", "NETWORKNT"})
+  public SchemaEngineType schemaEngine;
+
+  @Param({"warm", "cold"})
+  public String templateCache;
+
+  private AnnotationConfigApplicationContext context;
+  private Validator validator;
+  private CompiledTemplateCache compiledTemplateCache;
+  private SyntheticTemplates.Fixture fixture;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    context = BenchmarkValidators.createContext(schemaEngine);
+    validator = BenchmarkValidators.createValidator(context);
+    compiledTemplateCache = context.getBean(CompiledTemplateCache.class);
+    fixture = SyntheticTemplates.generate(new SyntheticTemplates.Shape(fieldCount, depth, arrayLength));
+
+    var report = validator.validateInstance(fixture.template(), fixture.instance());
+    var errors = report.results().stream()
+        .filter(result -> result.validationLevel() == ValidationLevel.ERROR)
+        .toList();
+    if (!errors.isEmpty()) {
+      throw new IllegalStateException("Synthetic instance " + fixture.shape().name() + " is not valid: " + errors);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void clearTemplateCache() {
+    if (templateCache.equals("cold")) {
+      compiledTemplateCache.clear();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public ValidationReport validateInstance() throws Exception {
+    return validator.validateInstance(fixture.template(), fixture.instance());
+  }
+}
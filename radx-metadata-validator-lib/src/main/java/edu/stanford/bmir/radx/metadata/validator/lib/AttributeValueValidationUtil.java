@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Component
 public class AttributeValueValidationUtil {
@@ -15,20 +16,28 @@ public class AttributeValueValidationUtil {
   }
 
   public void validateAttributeValueField(TemplateReporter templateReporter, List<AttributeValueFieldValues> attributeValueFieldValuesList, Consumer<ValidationResult> handler){
+    validateAttributeValueField(specificationPath -> isAttributeValue(templateReporter, specificationPath), attributeValueFieldValuesList, handler);
+  }
+
+  public void validateAttributeValueField(Predicate<String> isAttributeValue, List<AttributeValueFieldValues> attributeValueFieldValuesList, Consumer<ValidationResult> handler){
     for(var attributeValueFieldValues: attributeValueFieldValuesList){
-      String instancePath = attributeValueFieldValues.path();
-      String specificationPath = attributeValueFieldValues.specificationPath();
-      var fieldValues = attributeValueFieldValues.fieldValues();
+      validateAttributeValueField(isAttributeValue, attributeValueFieldValues, handler);
+    }
+  }
 
-      if(isAttributeValue(templateReporter, specificationPath)){
-        if(fieldValues.jsonLdValue().isPresent()){
-          fieldSchemaValidationHelper.validateAttributeValueField(fieldValues.jsonLdValue(), fieldValues.jsonLdId(), fieldValues.label(), fieldValues.jsonLdTypes(), handler, instancePath);
-        } else{
-          handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, "@value should not be null at " + instancePath, instancePath));
-        }
+  public void validateAttributeValueField(Predicate<String> isAttributeValue, AttributeValueFieldValues attributeValueFieldValues, Consumer<ValidationResult> handler){
+    String instancePath = attributeValueFieldValues.path();
+    String specificationPath = attributeValueFieldValues.specificationPath();
+    var fieldValues = attributeValueFieldValues.fieldValues();
+
+    if(isAttributeValue.test(specificationPath)){
+      if(fieldValues.jsonLdValue().isPresent()){
+        fieldSchemaValidationHelper.validateAttributeValueField(fieldValues.jsonLdValue(), fieldValues.jsonLdId(), fieldValues.label(), fieldValues.jsonLdTypes(), handler, instancePath);
       } else{
-      handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, instancePath+ " is not a valid attribute-value field", instancePath));
-      }
+        handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, "@value should not be null at " + instancePath, instancePath));
       }
+    } else{
+      handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, instancePath+ " is not a valid attribute-value field", instancePath));
     }
   }
+}
@@ -0,0 +1,97 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the instances of a bulk file one at a time. A bulk file is either a single top-level JSON array of
+ * instances or a sequence of instances, such as NDJSON. The file is streamed and only the instance being read is
+ * held in memory, so memory use does not depend on the size of the file.
+ */
+public class BulkInstanceReader implements Closeable {
+  private final JsonParser parser;
+  private final String file;
+  private boolean started;
+  private boolean array;
+  private JsonToken nextToken;
+  private int nextIndex;
+  private JsonParseException pendingError;
+
+  /**
+   * The content is not read until the first call to {@link #next()}, so a file that does not start with a JSON
+   * value is reported as an invalid record 0.
+   *
+   * @param file The name of the file, used in error messages.
+   */
+  public BulkInstanceReader(InputStream inputStream, String file) throws IOException {
+    this.parser = JsonLoader.getObjectMapper().createParser(inputStream);
+    this.file = file;
+  }
+
+  /**
+   * Returns the next instance, or null when there are no more instances.
+   *
+   * @throws JsonParseException if the next instance is not valid JSON. The rest of the file cannot be read.
+   */
+  public JsonNode next() throws IOException {
+    if (pendingError != null) {
+      var error = pendingError;
+      pendingError = null;
+      throw error;
+    }
+    if (!started) {
+      started = true;
+      try {
+        nextToken = parser.nextToken();
+        if (nextToken == JsonToken.START_ARRAY) {
+          array = true;
+          nextToken = parser.nextToken();
+        }
+      } catch (JsonProcessingException e) {
+        nextToken = null;
+        throw invalidRecord();
+      }
+    }
+    if (nextToken == null || (array && nextToken == JsonToken.END_ARRAY)) {
+      return null;
+    }
+    JsonNode instance;
+    try {
+      instance = parser.readValueAsTree();
+    } catch (JsonProcessingException e) {
+      nextToken = null;
+      throw invalidRecord();
+    }
+    nextIndex += 1;
+    try {
+      nextToken = parser.nextToken();
+    } catch (JsonProcessingException e) {
+      // The instance itself was read, so it is returned and the error is raised by the next call
+      nextToken = null;
+      pendingError = invalidRecord();
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the index of the instance that the next call to {@link #next()} reads, starting at 0.
+   */
+  public int getNextIndex() {
+    return nextIndex;
+  }
+
+  private JsonParseException invalidRecord() {
+    return new JsonParseException("Record " + nextIndex + " of " + file + " is not valid JSON.");
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+}
@@ -0,0 +1,34 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.CompiledSchema;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.ValidationPlan;
+import org.metadatacenter.artifacts.model.core.TemplateSchemaArtifact;
+import org.metadatacenter.artifacts.model.visitors.TemplateReporter;
+
+import java.util.List;
+
+/**
+ * Everything that is derived from a template and does not depend on the instance being validated. A compiled
+ * template is built once per distinct template content and shared by every validation that uses that template.
+ *
+ * @param hash                   The SHA-256 digest of the template content.
+ * @param weight                 The approximate size of the template content, used for cache eviction.
+ * @param jsonSchema             The parsed template, which is also the JSON schema that instances must follow.
+ * @param instanceSchema         The compiled form of {@code jsonSchema} used to validate instances.
+ * @param templateSchemaArtifact The template read as a CEDAR schema artifact.
+ * @param templateReporter       The reporter used to look up field schemas and value constraints by path.
+ * @param requiredFields         The paths of all fields that require a value.
+ * @param literalLabels          The allowed labels of the RADIO, CHECKBOX and LIST fields.
+ * @param validationPlan         The data type checks of every field, keyed by normalized path.
+ */
+public record CompiledTemplate(String hash,
+                               long weight,
+                               JsonNode jsonSchema,
+                               CompiledSchema instanceSchema,
+                               TemplateSchemaArtifact templateSchemaArtifact,
+                               TemplateReporter templateReporter,
+                               List<String> requiredFields,
+                               LiteralLabelIndex literalLabels,
+                               ValidationPlan validationPlan) {
+}
@@ -0,0 +1,128 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of compiled templates keyed by the hash of the template content. The cache is bounded by the
+ * total weight of its entries and evicts the least recently used templates first. Concurrent misses on the same hash
+ * are compiled once with {@link #getOrCompile(String, Supplier)}.
+ */
+@Component
+public class CompiledTemplateCache {
+  public static final long DEFAULT_MAX_WEIGHT = 256L * 1024 * 1024;
+
+  private final long maxWeight;
+  private final LinkedHashMap<String, CompiledTemplate> templates = new LinkedHashMap<>(16, 0.75f, true);
+  private final ConcurrentHashMap<String, CompletableFuture<CompiledTemplate>> compilations = new ConcurrentHashMap<>();
+  private long weight = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  public CompiledTemplateCache() {
+    this(DEFAULT_MAX_WEIGHT);
+  }
+
+  public CompiledTemplateCache(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public synchronized Optional<CompiledTemplate> get(String hash) {
+    var compiledTemplate = templates.get(hash);
+    if (compiledTemplate == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return Optional.ofNullable(compiledTemplate);
+  }
+
+  /**
+   * Returns the template with the given hash, compiling and adding it if it is not cached. If the template is
+   * already being compiled by another thread, waits for that compilation instead of starting another one.
+   */
+  public CompiledTemplate getOrCompile(String hash, Supplier<CompiledTemplate> compiler) {
+    var compilation = new CompletableFuture<CompiledTemplate>();
+    var running = compilations.putIfAbsent(hash, compilation);
+    if (running != null) {
+      try {
+        return running.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+    try {
+      //the template may have been added after the caller's lookup
+      CompiledTemplate compiledTemplate;
+      synchronized (this) {
+        compiledTemplate = templates.get(hash);
+      }
+      if (compiledTemplate == null) {
+        compiledTemplate = compiler.get();
+        put(compiledTemplate);
+      }
+      compilation.complete(compiledTemplate);
+      return compiledTemplate;
+    } catch (RuntimeException | Error e) {
+      compilation.completeExceptionally(e);
+      throw e;
+    } finally {
+      compilations.remove(hash, compilation);
+    }
+  }
+
+  /**
+   * Adds a compiled template to the cache. Templates that are heavier than the whole cache are not stored.
+   */
+  public synchronized void put(CompiledTemplate compiledTemplate) {
+    if (compiledTemplate.weight() > maxWeight) {
+      return;
+    }
+    var previous = templates.put(compiledTemplate.hash(), compiledTemplate);
+    if (previous != null) {
+      weight -= previous.weight();
+    }
+    weight += compiledTemplate.weight();
+    evict();
+  }
+
+  private void evict() {
+    var iterator = templates.entrySet().iterator();
+    while (weight > maxWeight && iterator.hasNext()) {
+      Map.Entry<String, CompiledTemplate> eldest = iterator.next();
+      weight -= eldest.getValue().weight();
+      iterator.remove();
+    }
+  }
+
+  public synchronized void clear() {
+    templates.clear();
+    weight = 0;
+  }
+
+  public synchronized int size() {
+    return templates.size();
+  }
+
+  public synchronized long getWeight() {
+    return weight;
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+}
@@ -0,0 +1,35 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class ContentHash {
+  private static final String ALGORITHM = "SHA-256";
+
+  private ContentHash() {
+  }
+
+  /**
+   * Computes the hex encoded SHA-256 digest of the UTF-8 encoding of the given content.
+   */
+  public static String sha256(String content) {
+    return sha256(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Computes the hex encoded SHA-256 digest of the given bytes.
+   */
+  public static String sha256(byte[] content) {
+    return HexFormat.of().formatHex(newDigest().digest(content));
+  }
+
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(ALGORITHM + " is not supported by this JVM", e);
+    }
+  }
+}
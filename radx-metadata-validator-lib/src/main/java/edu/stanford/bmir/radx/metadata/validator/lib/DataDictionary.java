@@ -0,0 +1,60 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The variables of a RADx data dictionary, read from the dictionary's {@code Id} and {@code Datatype} columns.
+ */
+public record DataDictionary(List<Variable> variables) {
+  private static final String ID_COLUMN = "id";
+  private static final String DATATYPE_COLUMN = "datatype";
+
+  public record Variable(String id, String datatype) {
+  }
+
+  /**
+   * @throws IllegalArgumentException if the dictionary has no Id column.
+   */
+  public static DataDictionary read(Path dictionary) throws IOException {
+    try (var reader = Files.newBufferedReader(dictionary, StandardCharsets.UTF_8);
+         var parser = CSVParser.parse(reader, CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build())) {
+      String idColumn = null;
+      String datatypeColumn = null;
+      for (var column : parser.getHeaderNames()) {
+        var name = stripBom(column).trim().toLowerCase(Locale.ROOT);
+        if (name.equals(ID_COLUMN)) {
+          idColumn = column;
+        } else if (name.equals(DATATYPE_COLUMN)) {
+          datatypeColumn = column;
+        }
+      }
+      if (idColumn == null) {
+        throw new IllegalArgumentException("Data dictionary " + dictionary.getFileName() + " has no Id column.");
+      }
+
+      var variables = new ArrayList<Variable>();
+      for (var record : parser) {
+        var id = record.isSet(idColumn) ? record.get(idColumn).trim() : "";
+        if (id.isEmpty()) {
+          continue;
+        }
+        var datatype = datatypeColumn != null && record.isSet(datatypeColumn) ? record.get(datatypeColumn).trim() : "";
+        variables.add(new Variable(id, datatype));
+      }
+      return new DataDictionary(List.copyOf(variables));
+    }
+  }
+
+  public static String stripBom(String value) {
+    return value.startsWith("\uFEFF") ? value.substring(1) : value;
+  }
+}
@@ -0,0 +1,63 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+
+import javax.annotation.Nullable;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Checks the SHA256 digest field against the digest of a data file that is being computed by a
+ * {@link DataFileHasher}. The digest is only waited for when the field is checked, which is the last step of a
+ * validation.
+ */
+public class DataFileDigestValidator implements LiteralFieldValidator {
+  private final Path dataFile;
+  private final CompletableFuture<String> digest;
+
+  public DataFileDigestValidator(Path dataFile, CompletableFuture<String> digest) {
+    this.dataFile = dataFile;
+    this.digest = digest;
+  }
+
+  @Override
+  public void validate(Optional<String> value, @Nullable String type, @Nullable String lang, Consumer<ValidationResult> handler, JsonPointer fieldPath) {
+    String expectedValue;
+    try {
+      expectedValue = digest.join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      var message = cause instanceof NoSuchFileException
+          ? "Data file not found: " + dataFile
+          : "Could not compute the SHA256 digest of " + dataFile + ": " + cause.getMessage();
+      handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.LITERAL_FIELD_VALIDATION, message, fieldPath.toString()));
+      return;
+    }
+    if(value.isPresent()){
+      //hex digests are case insensitive
+      if(!expectedValue.equalsIgnoreCase(value.get())){
+        String errorMessage = String.format("Expected SHA256 digest equals to %s", expectedValue);
+        handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.LITERAL_FIELD_VALIDATION, errorMessage, fieldPath.toString()));
+      }
+    } else{
+      String warningMessage = String.format("Expected SHA256 digest equals to %s, but an empty value is received.", expectedValue);
+      handler.accept(new ValidationResult(ValidationLevel.WARNING, ValidationName.LITERAL_FIELD_VALIDATION, warningMessage, fieldPath.toString()));
+    }
+  }
+
+  /**
+   * Returns the digest of the data file, waiting for it if needed, or null if it could not be computed.
+   */
+  @Override
+  public String getExpectedValue() {
+    try {
+      return digest.join();
+    } catch (CompletionException e) {
+      return null;
+    }
+  }
+}
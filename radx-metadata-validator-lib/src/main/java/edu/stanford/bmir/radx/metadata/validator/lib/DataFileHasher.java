@@ -0,0 +1,73 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Computes the SHA-256 digests of data files on its own threads, so that hashing overlaps with the validation of
+ * the metadata that describes the files. At most {@code maxConcurrentFiles} files are read at the same time, and
+ * the digest of each file is only computed once.
+ */
+public class DataFileHasher implements AutoCloseable {
+  /**
+   * Files are mapped in windows of this size, so that the whole file does not need to be mapped at once.
+   */
+  private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+
+  private final ExecutorService executor;
+  private final Map<Path, CompletableFuture<String>> digests = new ConcurrentHashMap<>();
+
+  public DataFileHasher(int maxConcurrentFiles) {
+    if (maxConcurrentFiles < 1) {
+      throw new IllegalArgumentException("maxConcurrentFiles must be at least 1");
+    }
+    this.executor = Executors.newFixedThreadPool(maxConcurrentFiles, runnable -> {
+      var thread = new Thread(runnable, "data-file-hasher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Returns the hex encoded SHA-256 digest of the file, which is computed in the background.
+   */
+  public CompletableFuture<String> sha256(Path file) {
+    return digests.computeIfAbsent(file.toAbsolutePath().normalize(), path -> CompletableFuture.supplyAsync(() -> {
+      try {
+        return computeSha256(path);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor));
+  }
+
+  /**
+   * Computes the hex encoded SHA-256 digest of the file on the calling thread. The file is read through
+   * memory mappings, so its content is not copied onto the Java heap.
+   */
+  public static String computeSha256(Path file) throws IOException {
+    MessageDigest digest = ContentHash.newDigest();
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      for (long position = 0; position < size; position += MAPPING_SIZE) {
+        digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_SIZE, size - position)));
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,30 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+/**
+ * Counts the errors of one validation and stops the validation once {@link ValidationOptions#maxErrors()} is
+ * reached. The stop is signalled by throwing from the result handler, so every component stops at the error that
+ * exhausts the budget without checking the budget itself.
+ */
+class ErrorBudget {
+  private final int maxErrors;
+  private int errorCount;
+
+  ErrorBudget(ValidationOptions options) {
+    this.maxErrors = options.maxErrors();
+  }
+
+  void record(ValidationResult result) {
+    if (result.validationLevel() == ValidationLevel.ERROR) {
+      errorCount += 1;
+      if (maxErrors > 0 && errorCount >= maxErrors) {
+        throw new ExhaustedException();
+      }
+    }
+  }
+
+  static class ExhaustedException extends RuntimeException {
+    ExhaustedException() {
+      super("Error budget exhausted", null, false, false);
+    }
+  }
+}
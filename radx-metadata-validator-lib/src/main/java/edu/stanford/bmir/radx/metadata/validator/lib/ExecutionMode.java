@@ -0,0 +1,16 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+/**
+ * How {@link ValidationExecutors} run the I/O and the CPU-bound work of many validations.
+ */
+public enum ExecutionMode {
+  /**
+   * A fixed pool of platform threads reads and validates each instance.
+   */
+  PLATFORM,
+  /**
+   * Each instance is read on its own virtual thread and validated on a bounded pool of platform threads.
+   * Requires Java 21 or later.
+   */
+  VIRTUAL
+}
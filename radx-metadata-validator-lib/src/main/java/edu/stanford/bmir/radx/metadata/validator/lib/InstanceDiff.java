@@ -0,0 +1,134 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The structural differences between two versions of an instance. Objects are compared key by key and arrays
+ * index by index, and every difference is recorded at the deepest pointer at which the two trees differ.
+ */
+public final class InstanceDiff {
+  private final List<JsonPointer> changedPointers;
+  private final List<String> changedPaths;
+  private final boolean shapePreserved;
+
+  private InstanceDiff(List<JsonPointer> changedPointers, List<String> changedPaths, boolean shapePreserved) {
+    this.changedPointers = List.copyOf(changedPointers);
+    this.changedPaths = List.copyOf(changedPaths);
+    this.shapePreserved = shapePreserved;
+  }
+
+  public static InstanceDiff between(JsonNode previous, JsonNode current) {
+    var changes = new Changes();
+    boolean shapePreserved = compare(previous, current, JsonPointer.empty(), "", changes);
+    return new InstanceDiff(changes.pointers, changes.paths, shapePreserved);
+  }
+
+  public boolean isEmpty() {
+    return changedPointers.isEmpty();
+  }
+
+  /**
+   * Returns true if both versions have the same keys, the same array sizes and the same kind of value at every
+   * pointer, so that only the values of some scalars differ.
+   */
+  public boolean isShapePreserved() {
+    return shapePreserved;
+  }
+
+  public List<JsonPointer> getChangedPointers() {
+    return changedPointers;
+  }
+
+  /**
+   * Returns true if a change is inside the field or element at the given instance path, such as
+   * {@code /Element[0]/Field}, or if the field or element is inside a change.
+   */
+  public boolean affects(String instancePath) {
+    for (var changedPath : changedPaths) {
+      if (isPrefix(instancePath, changedPath) || isPrefix(changedPath, instancePath)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isPrefix(String prefix, String path) {
+    if (!path.startsWith(prefix)) {
+      return false;
+    }
+    if (path.length() == prefix.length()) {
+      return true;
+    }
+    char next = path.charAt(prefix.length());
+    return next == '/' || next == '[';
+  }
+
+  /**
+   * Compares two subtrees, where {@code path} is the pointer in the path format of the instance visitor, in which
+   * array indices are written in brackets after the name of the array, such as {@code /Element[0]/Field}.
+   */
+  private static boolean compare(JsonNode previous, JsonNode current, JsonPointer pointer, String path, Changes changes) {
+    if (!isSameKind(previous, current)) {
+      changes.add(pointer, path);
+      return false;
+    }
+    if (previous.isObject()) {
+      boolean shapePreserved = true;
+      for (var it = previous.fields(); it.hasNext(); ) {
+        Map.Entry<String, JsonNode> entry = it.next();
+        var childPointer = pointer.appendProperty(entry.getKey());
+        var childPath = path + "/" + entry.getKey();
+        var currentValue = current.get(entry.getKey());
+        if (currentValue == null) {
+          changes.add(childPointer, childPath);
+          shapePreserved = false;
+        } else {
+          shapePreserved &= compare(entry.getValue(), currentValue, childPointer, childPath, changes);
+        }
+      }
+      for (var it = current.fieldNames(); it.hasNext(); ) {
+        var fieldName = it.next();
+        if (!previous.has(fieldName)) {
+          changes.add(pointer.appendProperty(fieldName), path + "/" + fieldName);
+          shapePreserved = false;
+        }
+      }
+      return shapePreserved;
+    }
+    if (previous.isArray()) {
+      boolean shapePreserved = previous.size() == current.size();
+      int commonSize = Math.min(previous.size(), current.size());
+      for (int i = 0; i < commonSize; i++) {
+        shapePreserved &= compare(previous.get(i), current.get(i), pointer.appendIndex(i), path + "[" + i + "]", changes);
+      }
+      for (int i = commonSize; i < Math.max(previous.size(), current.size()); i++) {
+        changes.add(pointer.appendIndex(i), path + "[" + i + "]");
+      }
+      return shapePreserved;
+    }
+    if (!previous.equals(current)) {
+      changes.add(pointer, path);
+    }
+    return true;
+  }
+
+  private static boolean isSameKind(JsonNode previous, JsonNode current) {
+    return previous.getNodeType() == current.getNodeType()
+        && (!previous.isNumber() || previous.isIntegralNumber() == current.isIntegralNumber());
+  }
+
+  private static class Changes {
+    private final List<JsonPointer> pointers = new ArrayList<>();
+    private final List<String> paths = new ArrayList<>();
+
+    private void add(JsonPointer pointer, String path) {
+      pointers.add(pointer);
+      paths.add(path);
+    }
+  }
+}
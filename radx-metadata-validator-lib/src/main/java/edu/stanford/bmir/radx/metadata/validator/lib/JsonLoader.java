@@ -1,19 +1,88 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @Component
 public class JsonLoader {
+    /**
+     * ObjectMapper is thread-safe once configured, so a single instance is shared by all callers. Source content is
+     * not kept in parser locations because documents can be several megabytes.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+        .disable(StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION)
+        .build();
+
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
     public static JsonNode loadJson(String jsonContent, String file) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.readTree(jsonContent);
+            return OBJECT_MAPPER.readTree(jsonContent);
         } catch (IOException e) {
             throw new JsonParseException(file + " is not a valid JSON file.");
         }
     }
+
+    public static JsonNode loadJson(byte[] jsonContent, String file) {
+        try {
+            return OBJECT_MAPPER.readTree(jsonContent);
+        } catch (IOException e) {
+            throw new JsonParseException(file + " is not a valid JSON file.");
+        }
+    }
+
+    public static JsonNode loadJson(ByteBuffer jsonContent, String file) {
+        if (jsonContent.hasArray()) {
+            try {
+                return OBJECT_MAPPER.readTree(jsonContent.array(), jsonContent.arrayOffset() + jsonContent.position(), jsonContent.remaining());
+            } catch (IOException e) {
+                throw new JsonParseException(file + " is not a valid JSON file.");
+            }
+        }
+        return loadJson(new ByteBufferBackedInputStream(jsonContent.duplicate()), file);
+    }
+
+    /**
+     * Parses JSON from the stream without buffering the whole document first. The stream is not closed.
+     *
+     * @throws JsonParseException if the content is not valid JSON.
+     * @throws UncheckedIOException if the stream cannot be read.
+     */
+    public static JsonNode loadJson(InputStream jsonContent, String file) {
+        try {
+            return OBJECT_MAPPER.readTree(jsonContent);
+        } catch (JsonProcessingException e) {
+            throw new JsonParseException(file + " is not a valid JSON file.");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the JSON file at the given path.
+     *
+     * @throws JsonParseException if the content is not valid JSON.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public static JsonNode loadJson(Path jsonFile, String file) {
+        try (var inputStream = Files.newInputStream(jsonFile)) {
+            return loadJson(inputStream, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -13,4 +14,13 @@ public class LiteralFieldValidators {
   public Optional<LiteralFieldValidator> getValidator(FieldPath fieldPath){
     return Optional.ofNullable(validator.get(fieldPath));
   }
+
+  /**
+   * Returns a copy in which the field is checked by the given validator.
+   */
+  public LiteralFieldValidators with(FieldPath fieldPath, LiteralFieldValidator literalFieldValidator){
+    var validators = new HashMap<>(validator);
+    validators.put(fieldPath, literalFieldValidator);
+    return new LiteralFieldValidators(validators);
+  }
 }
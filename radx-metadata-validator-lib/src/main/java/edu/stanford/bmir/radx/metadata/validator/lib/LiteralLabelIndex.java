@@ -0,0 +1,68 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.metadatacenter.artifacts.model.core.fields.constraints.LiteralValueConstraint;
+import org.metadatacenter.artifacts.model.core.fields.constraints.ValueConstraints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The literal labels of the RADIO, CHECKBOX and LIST fields of a template, held as immutable hashed sets so that
+ * a value can be checked in constant time. Sets are keyed by the identity of the field's value constraints, which
+ * the template reporter returns for every path of the field, including the indexed paths of multi-valued fields.
+ * Fields that share the same list of labels share one set.
+ */
+public class LiteralLabelIndex {
+  public static final LiteralLabelIndex EMPTY = new LiteralLabelIndex(Map.of());
+
+  private final Map<ValueConstraints, Set<String>> labels;
+
+  private LiteralLabelIndex(Map<ValueConstraints, Set<String>> labels) {
+    this.labels = labels;
+  }
+
+  /**
+   * Returns the labels of the field with the given value constraints, or null if the field was not indexed.
+   */
+  public Set<String> getLabels(ValueConstraints valueConstraints) {
+    return labels.get(valueConstraints);
+  }
+
+  public int size() {
+    return labels.size();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private final Map<ValueConstraints, Set<String>> labels = new IdentityHashMap<>();
+    private final Map<List<String>, Set<String>> internedLabels = new HashMap<>();
+
+    public Builder add(ValueConstraints valueConstraints) {
+      if (labels.containsKey(valueConstraints)) {
+        return this;
+      }
+      var literals = valueConstraints.asTextValueConstraints().literals();
+      if (literals.isEmpty()) {
+        return this;
+      }
+      var literalLabels = new ArrayList<String>(literals.size());
+      for (LiteralValueConstraint literal : literals) {
+        literalLabels.add(literal.label());
+      }
+      labels.put(valueConstraints, internedLabels.computeIfAbsent(literalLabels, Set::copyOf));
+      return this;
+    }
+
+    public LiteralLabelIndex build() {
+      return new LiteralLabelIndex(Collections.unmodifiableMap(labels));
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidationMetrics} backed by a Micrometer {@link MeterRegistry}. Micrometer is an optional dependency of
+ * the library and is only needed when this class is used. All meters are registered up front, so recording only
+ * updates existing meters.
+ *
+ * <ul>
+ *   <li>{@code radx.validator.stage} timer, tagged with {@code stage}</li>
+ *   <li>{@code radx.validator.validation} timer for whole validations</li>
+ *   <li>{@code radx.validator.results} counter, tagged with {@code level} and {@code name}</li>
+ *   <li>{@code radx.validator.template.cache} counter, tagged with {@code result} {@code hit} or {@code miss}</li>
+ *   <li>{@code radx.validator.instance.size} distribution of instance sizes in bytes</li>
+ * </ul>
+ */
+public class MicrometerValidationMetrics implements ValidationMetrics {
+  private final Map<ValidationStage, Timer> stageTimers = new EnumMap<>(ValidationStage.class);
+  private final Timer validationTimer;
+  private final Counter[][] resultCounters;
+  private final Counter templateCacheHits;
+  private final Counter templateCacheMisses;
+  private final DistributionSummary instanceSizes;
+
+  public MicrometerValidationMetrics(MeterRegistry registry) {
+    for (var stage : ValidationStage.values()) {
+      stageTimers.put(stage, Timer.builder("radx.validator.stage")
+          .description("Time spent in a stage of a validation")
+          .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+    validationTimer = Timer.builder("radx.validator.validation")
+        .description("Time spent validating an instance")
+        .publishPercentileHistogram()
+        .register(registry);
+
+    var levels = ValidationLevel.values();
+    var names = ValidationName.values();
+    resultCounters = new Counter[levels.length][names.length];
+    for (var level : levels) {
+      for (var name : names) {
+        resultCounters[level.ordinal()][name.ordinal()] = Counter.builder("radx.validator.results")
+            .description("Validation results reported")
+            .tag("level", level.name())
+            .tag("name", name.name())
+            .register(registry);
+      }
+    }
+
+    templateCacheHits = templateCacheCounter(registry, "hit");
+    templateCacheMisses = templateCacheCounter(registry, "miss");
+    instanceSizes = DistributionSummary.builder("radx.validator.instance.size")
+        .description("Size of validated instances")
+        .baseUnit("bytes")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private static Counter templateCacheCounter(MeterRegistry registry, String result) {
+    return Counter.builder("radx.validator.template.cache")
+        .description("Compiled template cache lookups")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  @Override
+  public long startTimer() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public void recordStage(ValidationStage stage, long startTime) {
+    stageTimers.get(stage).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordValidation(long startTime) {
+    validationTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordResult(ValidationResult result) {
+    var level = result.validationLevel();
+    var name = result.validationName();
+    if (level != null && name != null) {
+      resultCounters[level.ordinal()][name.ordinal()].increment();
+    }
+  }
+
+  @Override
+  public void recordTemplateCacheLookup(boolean hit) {
+    (hit ? templateCacheHits : templateCacheMisses).increment();
+  }
+
+  @Override
+  public void recordInstanceSize(long bytes) {
+    instanceSizes.record(bytes);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
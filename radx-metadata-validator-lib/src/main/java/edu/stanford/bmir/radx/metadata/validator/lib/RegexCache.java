@@ -0,0 +1,59 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A bounded cache of compiled regular expressions that is shared by all validations, so matching a value does not
+ * compile a pattern. Lookups do not lock and patterns are compiled outside the map, so two threads may compile
+ * the same expression once each. When the cache is full an arbitrary pattern is removed to make room.
+ */
+@Component
+public class RegexCache {
+  public static final int DEFAULT_MAX_PATTERNS = 4096;
+
+  private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+  private final int maxPatterns;
+
+  public RegexCache() {
+    this(DEFAULT_MAX_PATTERNS);
+  }
+
+  public RegexCache(int maxPatterns) {
+    this.maxPatterns = maxPatterns;
+  }
+
+  /**
+   * Compiles the regular expression if it is not cached yet.
+   *
+   * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid.
+   */
+  public Pattern getPattern(String regex) {
+    var pattern = patterns.get(regex);
+    if (pattern != null) {
+      return pattern;
+    }
+    pattern = Pattern.compile(regex);
+    var keys = patterns.keySet().iterator();
+    while (patterns.size() >= maxPatterns && keys.hasNext()) {
+      patterns.remove(keys.next());
+    }
+    var existing = patterns.putIfAbsent(regex, pattern);
+    return existing != null ? existing : pattern;
+  }
+
+  /**
+   * Returns true if the entire input matches the regular expression, with the same semantics as
+   * {@link String#matches(String)}.
+   */
+  public boolean matches(String regex, CharSequence input) {
+    return getPattern(regex).matcher(input).matches();
+  }
+
+  public int size() {
+    return patterns.size();
+  }
+}
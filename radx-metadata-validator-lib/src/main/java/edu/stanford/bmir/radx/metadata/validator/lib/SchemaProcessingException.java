@@ -0,0 +1,7 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+public class SchemaProcessingException extends RuntimeException{
+  public SchemaProcessingException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,143 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Runs the independent stages of a validation. A stage is forked and its result is taken with
+ * {@link ForkedStage#join(Consumer)}. Stages are joined in the order the sequential validation would run them, so
+ * the results, the gating and the exception that ends a validation are the same whether stages run concurrently
+ * or not. Stages that are not joined are stopped with {@link ForkedStage#cancel()}.
+ */
+public class StageExecutor {
+  public static final StageExecutor SEQUENTIAL = new StageExecutor(null);
+
+  private final Executor executor;
+
+  private StageExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Runs forked stages on the executor. Each stage writes its results into its own buffer, which is passed to the
+   * validation's handler on the joining thread, so handlers are never called concurrently.
+   */
+  public static StageExecutor concurrent(Executor executor) {
+    return new StageExecutor(executor);
+  }
+
+  public boolean isConcurrent() {
+    return executor != null;
+  }
+
+  <T> ForkedStage<T> fork(Stage<T> stage) {
+    if (executor == null) {
+      return stage::run;
+    }
+    var task = new ForkedTask<T>();
+    executor.execute(() -> task.run(stage));
+    return task;
+  }
+
+  @FunctionalInterface
+  interface Stage<T> {
+    T run(Consumer<ValidationResult> handler) throws Exception;
+  }
+
+  @FunctionalInterface
+  interface ForkedStage<T> {
+    /**
+     * Waits for the stage, passes its results to the handler and returns its value. A sequential stage runs here.
+     */
+    T join(Consumer<ValidationResult> handler) throws Exception;
+
+    /**
+     * Stops a stage that will not be joined, for example because the error budget is exhausted. A running stage is
+     * interrupted and its next result throws a {@link CancellationException}. A sequential stage has not started
+     * and never runs.
+     */
+    default void cancel() {
+    }
+  }
+
+  /**
+   * A stage running on the executor. Its results are written into its own buffer until it is joined or cancelled.
+   */
+  private static class ForkedTask<T> implements ForkedStage<T> {
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final List<ValidationResult> buffer = new ArrayList<>();
+    private Thread runner;
+    private boolean cancelled;
+    private boolean interrupted;
+
+    private void run(Stage<T> stage) {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        runner = Thread.currentThread();
+      }
+      try {
+        future.complete(stage.run(this::accept));
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      } finally {
+        synchronized (this) {
+          runner = null;
+          //do not leave the interrupt of a cancelled stage on a pool thread
+          if (interrupted) {
+            Thread.interrupted();
+          }
+        }
+      }
+    }
+
+    private void accept(ValidationResult result) {
+      synchronized (this) {
+        if (cancelled) {
+          throw new CancellationException();
+        }
+      }
+      buffer.add(result);
+    }
+
+    @Override
+    public T join(Consumer<ValidationResult> handler) throws Exception {
+      try {
+        var value = future.join();
+        buffer.forEach(handler);
+        return value;
+      } catch (CompletionException e) {
+        buffer.forEach(handler);
+        var cause = e.getCause();
+        if (cause instanceof Exception exception) {
+          throw exception;
+        }
+        if (cause instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      }
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        if (future.isDone()) {
+          return;
+        }
+        cancelled = true;
+        if (runner != null) {
+          interrupted = true;
+          runner.interrupt();
+        }
+      }
+      future.cancel(false);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.RequiredFieldValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.SchemaValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.ValidationPlanCompiler;
+import org.metadatacenter.artifacts.model.core.TemplateSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.fields.FieldInputType;
+import org.metadatacenter.artifacts.model.reader.JsonSchemaArtifactReader;
+import org.metadatacenter.artifacts.model.visitors.TemplateReporter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+@Component
+public class TemplateCompiler {
+  private final SchemaValidatorComponent schemaValidatorComponent;
+  private final RequiredFieldValidatorComponent requiredFieldValidatorComponent;
+  private final RegexCache regexCache;
+  private final ValidationPlanCompiler validationPlanCompiler;
+  private final FieldsCollector fieldsCollector = new FieldsCollector();
+
+  public TemplateCompiler(SchemaValidatorComponent schemaValidatorComponent, RequiredFieldValidatorComponent requiredFieldValidatorComponent, RegexCache regexCache, ValidationPlanCompiler validationPlanCompiler) {
+    this.schemaValidatorComponent = schemaValidatorComponent;
+    this.requiredFieldValidatorComponent = requiredFieldValidatorComponent;
+    this.regexCache = regexCache;
+    this.validationPlanCompiler = validationPlanCompiler;
+  }
+
+  /**
+   * Reads the template as a CEDAR schema artifact and precomputes everything that validation needs from it.
+   *
+   * @param hash         The hash of the template content.
+   * @param weight       The approximate size of the template content.
+   * @param templateNode The parsed template. It must already have passed the CEDAR model validation.
+   */
+  public CompiledTemplate compile(String hash, long weight, JsonNode templateNode) {
+    var instanceSchema = schemaValidatorComponent.compile(templateNode);
+    JsonSchemaArtifactReader jsonSchemaArtifactReader = new JsonSchemaArtifactReader();
+    var templateSchemaArtifact = jsonSchemaArtifactReader.readTemplateSchemaArtifact((ObjectNode) templateNode);
+    var templateReporter = new TemplateReporter(templateSchemaArtifact);
+    var requiredFields = requiredFieldValidatorComponent.getAllRequiredFields(templateSchemaArtifact, templateReporter);
+    var literalLabels = indexFieldConstraints(templateSchemaArtifact, templateReporter);
+    var validationPlan = validationPlanCompiler.compile(templateSchemaArtifact, templateReporter, literalLabels);
+    return new CompiledTemplate(hash, weight, templateNode, instanceSchema, templateSchemaArtifact, templateReporter, List.copyOf(requiredFields), literalLabels, validationPlan);
+  }
+
+  /**
+   * Compiles the regular expressions of all text fields up front so that validating values never compiles a
+   * pattern, and indexes the literal labels of RADIO, CHECKBOX and LIST fields. Invalid expressions are left to
+   * fail when a value is matched against them.
+   */
+  private LiteralLabelIndex indexFieldConstraints(TemplateSchemaArtifact templateSchemaArtifact, TemplateReporter templateReporter) {
+    var literalLabels = LiteralLabelIndex.builder();
+    for (var path : fieldsCollector.getAllFields(templateSchemaArtifact)) {
+      var fieldSchemaArtifact = templateReporter.getFieldSchema(path);
+      var valueConstraint = templateReporter.getValueConstraints(path);
+      if (fieldSchemaArtifact.isEmpty() || valueConstraint.isEmpty() || valueConstraint.get().isControlledTermValueConstraint()) {
+        continue;
+      }
+      var fieldInputType = fieldSchemaArtifact.get().fieldUi().inputType();
+      if (fieldInputType == FieldInputType.TEXTFIELD) {
+        valueConstraint.get().asTextValueConstraints().regex().ifPresent(regex -> {
+          try {
+            regexCache.getPattern(regex);
+          } catch (PatternSyntaxException e) {
+            // reported when a value is validated
+          }
+        });
+      } else if (fieldInputType == FieldInputType.RADIO || fieldInputType == FieldInputType.CHECKBOX || fieldInputType == FieldInputType.LIST) {
+        literalLabels.add(valueConstraint.get());
+      }
+    }
+    return literalLabels.build();
+  }
+}
@@ -1,21 +1,43 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
 import org.metadatacenter.artifacts.model.core.fields.constraints.LiteralValueConstraint;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Component
 public class TextFieldValidationUtil {
+  private final RegexCache regexCache;
+
+  public TextFieldValidationUtil() {
+    this(new RegexCache());
+  }
+
+  @Autowired
+  public TextFieldValidationUtil(RegexCache regexCache) {
+    this.regexCache = regexCache;
+  }
+
   public boolean matchRegex(Optional<String> regex, String textValueString){
     if(regex.isPresent()){
-      String regexString = regex.get();
-      return textValueString.matches(regexString);
+      return matchRegex(regex.get(), textValueString);
     }else{
       return true;
     }
   }
+
+  public boolean matchRegex(String regex, String textValueString){
+    return regexCache.matches(regex, textValueString);
+  }
+
+  public Pattern getPattern(String regex){
+    return regexCache.getPattern(regex);
+  }
+
   public boolean lengthIsInRange(Optional<Integer> minLength, Optional<Integer> maxLength, Integer length){
     return minLength.map(min -> length >= min).orElse(true)
         && maxLength.map(max -> length <= max).orElse(true);
@@ -29,4 +51,8 @@ public class TextFieldValidationUtil {
     }
     return false;
   }
+
+  public boolean validLiteral(Set<String> literalLabels, String value) {
+    return literalLabels.contains(value);
+  }
 }
@@ -0,0 +1,75 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether replacing scalar values of an instance with values of the same kind can change the outcome of
+ * JSON schema validation. It cannot if every schema on the way to a value ignores its content, that is, the value
+ * is only constrained by {@code type} and its ancestors are not compared by content.
+ */
+final class TypeOnlySchemaCheck {
+  private static final Set<String> CONTENT_KEYWORDS = Set.of("enum", "const", "uniqueItems", "contains",
+      "allOf", "anyOf", "oneOf", "not", "if", "$ref", "patternProperties");
+  private static final Set<String> TYPE_ONLY_KEYWORDS = Set.of("type", "title", "description", "default",
+      "examples", "$schema", "$id", "id", "$comment");
+
+  private TypeOnlySchemaCheck() {
+  }
+
+  static boolean isTypeOnly(JsonNode schema, JsonNode instance, List<JsonPointer> valuePointers) {
+    for (var pointer : valuePointers) {
+      if (!isTypeOnly(schema, instance, pointer)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isTypeOnly(JsonNode schema, JsonNode instance, JsonPointer valuePointer) {
+    var schemaNode = schema;
+    var instanceNode = instance;
+    for (var p = valuePointer; !p.matches(); p = p.tail()) {
+      if (!schemaNode.isObject() || hasAny(schemaNode, CONTENT_KEYWORDS)) {
+        return false;
+      }
+      if (instanceNode.isArray()) {
+        schemaNode = schemaNode.get("items");
+        instanceNode = instanceNode.get(p.getMatchingIndex());
+      } else {
+        var properties = schemaNode.get("properties");
+        var childSchema = properties != null ? properties.get(p.getMatchingProperty()) : null;
+        schemaNode = childSchema != null ? childSchema : schemaNode.get("additionalProperties");
+        instanceNode = instanceNode.get(p.getMatchingProperty());
+      }
+      if (schemaNode == null || schemaNode.isBoolean()) {
+        //no schema applies to the value
+        return true;
+      }
+      if (instanceNode == null) {
+        return false;
+      }
+    }
+    if (!schemaNode.isObject()) {
+      return false;
+    }
+    for (var it = schemaNode.fieldNames(); it.hasNext(); ) {
+      if (!TYPE_ONLY_KEYWORDS.contains(it.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasAny(JsonNode schemaNode, Set<String> keywords) {
+    for (var keyword : keywords) {
+      if (schemaNode.has(keyword)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
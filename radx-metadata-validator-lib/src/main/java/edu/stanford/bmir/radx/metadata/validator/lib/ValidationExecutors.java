@@ -0,0 +1,122 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The executors of a batch or server workload. I/O work such as reading instances runs on {@link #io()}, and
+ * validations are run with {@link #runValidation(Callable)}, which keeps the number of concurrent validations at
+ * the number of CPU threads in {@link ExecutionMode#VIRTUAL} mode. Work that holds an instance in memory while it
+ * waits for a validation is run with {@link #runInstance(Callable)}, which bounds the number of such instances.
+ */
+public class ValidationExecutors implements AutoCloseable {
+  private final ExecutionMode mode;
+  private final ExecutorService ioExecutor;
+  private final ExecutorService cpuExecutor;
+  private final Semaphore instancePermits;
+
+  private ValidationExecutors(ExecutionMode mode, ExecutorService ioExecutor, ExecutorService cpuExecutor, int cpuThreads) {
+    this.mode = mode;
+    this.ioExecutor = ioExecutor;
+    this.cpuExecutor = cpuExecutor;
+    //one instance per CPU thread being validated, and one more being read for it
+    this.instancePermits = new Semaphore(2 * cpuThreads);
+  }
+
+  /**
+   * @param cpuThreads The number of platform threads. In {@link ExecutionMode#PLATFORM} mode they do both the I/O
+   *                   and the validation, in {@link ExecutionMode#VIRTUAL} mode only the validation.
+   */
+  public static ValidationExecutors create(ExecutionMode mode, int cpuThreads) {
+    if (mode == ExecutionMode.VIRTUAL) {
+      var ioExecutor = newVirtualThreadPerTaskExecutor();
+      return new ValidationExecutors(mode, ioExecutor, Executors.newFixedThreadPool(Math.max(1, cpuThreads)), Math.max(1, cpuThreads));
+    }
+    var executor = Executors.newFixedThreadPool(Math.max(1, cpuThreads));
+    return new ValidationExecutors(mode, executor, executor, Math.max(1, cpuThreads));
+  }
+
+  /**
+   * Returns true if the running JVM supports {@link ExecutionMode#VIRTUAL}.
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  public ExecutionMode getMode() {
+    return mode;
+  }
+
+  public ExecutorService io() {
+    return ioExecutor;
+  }
+
+  /**
+   * Runs a validation and returns its result. In {@link ExecutionMode#PLATFORM} mode the validation runs on the
+   * calling thread, in {@link ExecutionMode#VIRTUAL} mode it runs on the CPU pool while the caller waits.
+   */
+  public <T> T runValidation(Callable<T> validation) throws Exception {
+    if (mode == ExecutionMode.PLATFORM) {
+      return validation.call();
+    }
+    Future<T> future = cpuExecutor.submit(validation);
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      throw e;
+    }
+  }
+
+  /**
+   * Runs work that reads an instance and then validates it, typically on {@link #io()}. In
+   * {@link ExecutionMode#VIRTUAL} mode at most twice as many as there are CPU threads run at once, so instances that
+   * have been read but wait for the CPU pool do not all sit in memory. In {@link ExecutionMode#PLATFORM} mode the
+   * thread pool already bounds them.
+   */
+  public <T> T runInstance(Callable<T> work) throws Exception {
+    if (mode == ExecutionMode.PLATFORM) {
+      return work.call();
+    }
+    instancePermits.acquire();
+    try {
+      return work.call();
+    } finally {
+      instancePermits.release();
+    }
+  }
+
+  @Override
+  public void close() {
+    ioExecutor.shutdownNow();
+    cpuExecutor.shutdownNow();
+  }
+
+  /**
+   * Creates the Java 21 virtual thread executor without requiring Java 21 to build the library.
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (NoSuchMethodException e) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later, running on Java " + Runtime.version().feature());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to create a virtual thread executor", e);
+    }
+  }
+}
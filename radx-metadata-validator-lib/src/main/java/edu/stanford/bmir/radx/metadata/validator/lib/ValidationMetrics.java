@@ -0,0 +1,64 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+/**
+ * Receives measurements from a {@link Validator}. {@link #NOOP} is used unless metrics are configured; it does not
+ * read the clock, so a validator without metrics does no extra work. Implementations must be thread safe.
+ *
+ * @see MicrometerValidationMetrics
+ */
+public interface ValidationMetrics {
+  ValidationMetrics NOOP = new ValidationMetrics() {
+    @Override
+    public long startTimer() {
+      return 0;
+    }
+
+    @Override
+    public void recordStage(ValidationStage stage, long startTime) {
+    }
+
+    @Override
+    public void recordValidation(long startTime) {
+    }
+
+    @Override
+    public void recordResult(ValidationResult result) {
+    }
+
+    @Override
+    public void recordTemplateCacheLookup(boolean hit) {
+    }
+
+    @Override
+    public void recordInstanceSize(long bytes) {
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+  };
+
+  /**
+   * Returns the start time to pass to {@link #recordStage} or {@link #recordValidation}.
+   */
+  long startTimer();
+
+  void recordStage(ValidationStage stage, long startTime);
+
+  /**
+   * Records the time of a whole validation.
+   */
+  void recordValidation(long startTime);
+
+  void recordResult(ValidationResult result);
+
+  void recordTemplateCacheLookup(boolean hit);
+
+  void recordInstanceSize(long bytes);
+
+  /**
+   * Returns false if measurements are discarded, so that callers can skip work that only feeds metrics.
+   */
+  boolean isEnabled();
+}
@@ -10,5 +10,6 @@ public enum ValidationName {
   DATA_TYPE_VALIDATION,
   CARDINALITY_VALIDATION,
   LITERAL_FIELD_VALIDATION,
+  DATA_FILE_VALIDATION,
   UNKNOWN
 }
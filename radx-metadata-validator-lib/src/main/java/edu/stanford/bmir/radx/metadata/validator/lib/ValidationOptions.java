@@ -0,0 +1,25 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+/**
+ * Options that control how much work a {@link Validator} does for each instance.
+ *
+ * @param maxErrors The number of distinct errors after which validation of an instance stops, or 0 to report every
+ *                  error. With 1 the validator only answers whether the instance is valid.
+ */
+public record ValidationOptions(int maxErrors) {
+  public static final ValidationOptions DEFAULT = new ValidationOptions(0);
+
+  public ValidationOptions {
+    if (maxErrors < 0) {
+      throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+    }
+  }
+
+  public static ValidationOptions failFast() {
+    return new ValidationOptions(1);
+  }
+
+  public boolean hasErrorBudget() {
+    return maxErrors > 0;
+  }
+}
@@ -1,6 +1,20 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
+import java.util.Comparator;
 import java.util.List;
 
 public record ValidationReport(List<ValidationResult> results) {
+  /**
+   * The order of the results in a report: by level, then by pointer, then by validation name.
+   */
+  public static final Comparator<ValidationResult> RESULT_ORDER = (a, b) -> {
+    int c = Integer.compare(a.levelCode(), b.levelCode());
+    if (c == 0) {
+      c = a.pointer().compareTo(b.pointer());
+    }
+    if (c == 0) {
+      c = Integer.compare(a.nameCode(), b.nameCode());
+    }
+    return c;
+  };
 }
@@ -0,0 +1,185 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A directory of validation reports keyed by the hashes of the template and the instance, the validator version
+ * and a description of the validator configuration, so that the reports of unchanged instances are reused across
+ * runs. The cache is bounded by the total size of its files and evicts the least recently used reports first.
+ * Reports are written to a temporary file that is then moved into place, so several processes can share a
+ * directory.
+ */
+public class ValidationReportDiskCache {
+  private static final String REPORT_SUFFIX = ".json";
+  private static final String VALIDATOR_VERSION = Objects.requireNonNullElse(
+      ValidationReportDiskCache.class.getPackage().getImplementationVersion(), "development");
+
+  private final Path directory;
+  private final long maxSize;
+  private final String configuration;
+  private final LinkedHashMap<String, Long> reportSizes = new LinkedHashMap<>(16, 0.75f, true);
+  private long size = 0;
+
+  /**
+   * @param configuration Describes every setting that changes the reports, such as the validation options and the
+   *                      schema engine, so that reports of different configurations are not mixed up.
+   */
+  public ValidationReportDiskCache(Path directory, long maxSize, String configuration) throws IOException {
+    this.directory = directory;
+    this.maxSize = maxSize;
+    this.configuration = configuration;
+    Files.createDirectories(directory);
+    loadIndex();
+  }
+
+  /**
+   * Returns the key of the report of an instance, given the SHA-256 digests of the template and instance contents.
+   */
+  public String getKey(String templateHash, String instanceHash) {
+    return ContentHash.sha256(VALIDATOR_VERSION + "\n" + configuration + "\n" + templateHash + "\n" + instanceHash);
+  }
+
+  public Optional<ValidationReport> get(String key) {
+    var file = getReportFile(key);
+    try {
+      var report = readReport(JsonLoader.getObjectMapper().readTree(file.toFile()));
+      if (report == null) {
+        removeEntry(key);
+        return Optional.empty();
+      }
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      synchronized (this) {
+        //the lookup also marks the report as recently used
+        if (reportSizes.get(key) == null) {
+          //written by another process
+          addEntry(key, Files.size(file));
+        }
+      }
+      return Optional.of(report);
+    } catch (IOException | RuntimeException e) {
+      //a missing or unreadable report is replaced by the next put
+      removeEntry(key);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores a report. Reports with {@link ValidationName#UNKNOWN} results are not stored, because they come from
+   * unexpected failures that may not happen again.
+   */
+  public void put(String key, ValidationReport report) throws IOException {
+    for (var result : report.results()) {
+      if (result.validationName() == ValidationName.UNKNOWN) {
+        return;
+      }
+    }
+    byte[] content = JsonLoader.getObjectMapper().writeValueAsBytes(writeReport(report));
+    if (content.length > maxSize) {
+      return;
+    }
+    var temporaryFile = Files.createTempFile(directory, key, ".tmp");
+    try {
+      Files.write(temporaryFile, content);
+      Files.move(temporaryFile, getReportFile(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+    synchronized (this) {
+      addEntry(key, content.length);
+      evict();
+    }
+  }
+
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * Reads the sizes of the stored reports, least recently used first.
+   */
+  private void loadIndex() throws IOException {
+    var files = new ArrayList<Map.Entry<Path, BasicFileAttributes>>();
+    try (Stream<Path> paths = Files.list(directory)) {
+      for (var path : (Iterable<Path>) paths::iterator) {
+        if (path.getFileName().toString().endsWith(REPORT_SUFFIX)) {
+          files.add(Map.entry(path, Files.readAttributes(path, BasicFileAttributes.class)));
+        }
+      }
+    }
+    files.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+    for (var file : files) {
+      var fileName = file.getKey().getFileName().toString();
+      addEntry(fileName.substring(0, fileName.length() - REPORT_SUFFIX.length()), file.getValue().size());
+    }
+    evict();
+  }
+
+  private void addEntry(String key, long reportSize) {
+    var previous = reportSizes.put(key, reportSize);
+    if (previous != null) {
+      size -= previous;
+    }
+    size += reportSize;
+  }
+
+  private synchronized void removeEntry(String key) {
+    var previous = reportSizes.remove(key);
+    if (previous != null) {
+      size -= previous;
+    }
+  }
+
+  private void evict() {
+    var iterator = reportSizes.entrySet().iterator();
+    while (size > maxSize && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      size -= eldest.getValue();
+      iterator.remove();
+      try {
+        Files.deleteIfExists(getReportFile(eldest.getKey()));
+      } catch (IOException e) {
+        // removed from the index, so it is no longer counted and is replaced on the next put
+      }
+    }
+  }
+
+  private Path getReportFile(String key) {
+    return directory.resolve(key + REPORT_SUFFIX);
+  }
+
+  private static ArrayNode writeReport(ValidationReport report) {
+    var results = JsonLoader.getObjectMapper().createArrayNode();
+    for (var result : report.results()) {
+      var node = results.addObject();
+      node.put("level", result.validationLevel() == null ? null : result.validationLevel().name());
+      node.put("name", result.validationName() == null ? null : result.validationName().name());
+      node.put("message", result.message());
+      node.put("pointer", result.pointer());
+    }
+    return results;
+  }
+
+  private static ValidationReport readReport(JsonNode node) {
+    if (!node.isArray()) {
+      return null;
+    }
+    var results = new ArrayList<ValidationResult>(node.size());
+    for (var result : node) {
+      var level = result.path("level").textValue();
+      var name = result.path("name").textValue();
+      results.add(new ValidationResult(level == null ? null : ValidationLevel.valueOf(level),
+          name == null ? null : ValidationName.valueOf(name),
+          result.path("message").textValue(),
+          result.path("pointer").textValue()));
+    }
+    return new ValidationReport(results);
+  }
+}
@@ -0,0 +1,91 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes validation results as CSV records while they are produced. Records go through one large buffer that is
+ * flushed when the sink is flushed or closed, not once per record.
+ *
+ * <p>Results passed to {@link #accept} are written in the order they are produced. A complete report passed to
+ * {@link #write} is written in report order, exactly as {@link ValidationReportWriter#writeReport} writes it.
+ *
+ * <p>Closing the sink flushes it but leaves the underlying stream open.
+ */
+public class ValidationReportSink implements Consumer<ValidationResult>, Flushable, Closeable {
+  static final int BUFFER_SIZE = 1 << 16;
+
+  private final CSVPrinter printer;
+  private final boolean includeInstance;
+  private String instance = "";
+  private int errorCount;
+
+  ValidationReportSink(OutputStream outputStream, boolean includeInstance) throws IOException {
+    this.printer = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE), CSVFormat.DEFAULT);
+    this.includeInstance = includeInstance;
+  }
+
+  /**
+   * Starts the results of the next instance of a batch report.
+   */
+  public void startInstance(String instance) {
+    this.instance = instance;
+  }
+
+  @Override
+  public void accept(ValidationResult result) {
+    if (result.validationLevel() == ValidationLevel.ERROR) {
+      errorCount += 1;
+    }
+    writeRecord(result);
+  }
+
+  /**
+   * Writes the results of a complete report, which are already in report order.
+   */
+  public void write(ValidationReport report) {
+    for (var result : report.results()) {
+      if (result.validationLevel() == ValidationLevel.ERROR) {
+        errorCount += 1;
+      }
+      writeRecord(result);
+    }
+  }
+
+  /**
+   * Returns the number of results at {@link ValidationLevel#ERROR} written to this sink.
+   */
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  void writeHeader(Object... header) throws IOException {
+    printer.printRecord(header);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    printer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+  }
+
+  private void writeRecord(ValidationResult r) {
+    try {
+      if (includeInstance) {
+        printer.printRecord(instance, r.validationLevel(), r.pointer(), r.validationName(), r.message());
+      } else {
+        printer.printRecord(r.validationLevel(), r.pointer(), r.validationName(), r.message());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,40 +1,57 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 @Component("MetadataValidationReportWriter")
 public class ValidationReportWriter {
+  private static final Object[] HEADER = {"LEVEL", "PATH", "VALIDATION TYPE", "MESSAGE"};
+  private static final Object[] BATCH_HEADER = {"INSTANCE", "LEVEL", "PATH", "VALIDATION TYPE", "MESSAGE"};
+
   public void writeReportHeader(OutputStream outputStream) throws IOException {
-    var resultWriter = new CSVPrinter(new PrintStream(outputStream, true, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
-    resultWriter.printRecord("LEVEL", "PATH", "VALIDATION TYPE", "MESSAGE");
+    try (var sink = new ValidationReportSink(outputStream, false)) {
+      sink.writeHeader(HEADER);
+    }
   }
 
   public void writeReport(ValidationReport report, OutputStream outputStream) throws IOException {
-    var resultWriter = new CSVPrinter(new PrintStream(outputStream, true, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
-
-    report.results()
-        .stream()
-        .map(ValidationReportWriter::toCsvRecord)
-        .forEach(r -> {
-          try {
-            resultWriter.printRecord(r);
-          } catch (IOException e) {
-            throw new UncheckedIOException(e);
-          }
-        });
+    try (var sink = new ValidationReportSink(outputStream, false)) {
+      sink.write(report);
+    }
+  }
+
+  public void writeBatchReportHeader(OutputStream outputStream) throws IOException {
+    try (var sink = new ValidationReportSink(outputStream, true)) {
+      sink.writeHeader(BATCH_HEADER);
+    }
+  }
+
+  public void writeBatchReport(String instance, ValidationReport report, OutputStream outputStream) throws IOException {
+    try (var sink = new ValidationReportSink(outputStream, true)) {
+      sink.startInstance(instance);
+      sink.write(report);
+    }
+  }
+
+  /**
+   * Writes the report header and returns a sink that writes each result it accepts. The sink can be passed
+   * directly to the streaming {@link Validator} methods, which write results in the order they are produced, or be
+   * given a complete report with {@link ValidationReportSink#write}.
+   */
+  public ValidationReportSink openReport(OutputStream outputStream) throws IOException {
+    var sink = new ValidationReportSink(outputStream, false);
+    sink.writeHeader(HEADER);
+    return sink;
   }
 
-  private static List<? extends Serializable> toCsvRecord(ValidationResult r) {
-    var level = r.validationLevel();
-    var path = r.pointer();
-    var message = r.message();
-    var validationType = r.validationName();
-    return List.of(level, path, validationType, message);
+  /**
+   * Writes the batch report header and returns a sink for the results of many instances. Call
+   * {@link ValidationReportSink#startInstance} before the results of each instance.
+   */
+  public ValidationReportSink openBatchReport(OutputStream outputStream) throws IOException {
+    var sink = new ValidationReportSink(outputStream, true);
+    sink.writeHeader(BATCH_HEADER);
+    return sink;
   }
 }
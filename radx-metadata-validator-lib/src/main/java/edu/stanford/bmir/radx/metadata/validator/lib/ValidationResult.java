@@ -5,16 +5,40 @@ import jakarta.annotation.Nonnull;
 import java.util.Objects;
 
 public class ValidationResult {
-  private ValidationLevel validationLevel;
-  private ValidationName validationName;
-  private String message;
-  private String pointer;
+  private static final ValidationLevel[] LEVELS = ValidationLevel.values();
+  private static final ValidationName[] NAMES = ValidationName.values();
+  private static final int NONE = -1;
+
+  /**
+   * The ordinals of the level and the name, so that a result holds no enum references and compares by int.
+   */
+  private final byte levelCode;
+  private final byte nameCode;
+  private final String message;
+  private final String pointer;
+  private final int hash;
 
   public ValidationResult(ValidationLevel validationLevel, ValidationName validationName, String message, String pointer) {
-    this.validationLevel = validationLevel;
-    this.validationName = validationName;
+    this.levelCode = (byte) (validationLevel == null ? NONE : validationLevel.ordinal());
+    this.nameCode = (byte) (validationName == null ? NONE : validationName.ordinal());
     this.message = message;
     this.pointer = pointer;
+    this.hash = computeHash();
+  }
+
+  private int computeHash() {
+    int h = 31 + levelCode;
+    h = 31 * h + nameCode;
+    h = 31 * h + (message == null ? 0 : message.hashCode());
+    return 31 * h + (pointer == null ? 0 : pointer.hashCode());
+  }
+
+  int levelCode() {
+    return levelCode;
+  }
+
+  int nameCode() {
+    return nameCode;
   }
 
   /**
@@ -23,7 +47,7 @@ public class ValidationResult {
    * @return The {@link ValidationLevel} indicating the severity of the validation result.
    */
   public ValidationLevel validationLevel() {
-    return this.validationLevel;
+    return levelCode == NONE ? null : LEVELS[levelCode];
   }
 
   /**
@@ -45,7 +69,7 @@ public class ValidationResult {
    */
   @Nonnull
   public ValidationName validationName() {
-    return this.validationName;
+    return nameCode == NONE ? null : NAMES[nameCode];
   }
 
   /**
@@ -65,14 +89,15 @@ public class ValidationResult {
     if (this == obj) return true;
     if (obj == null || getClass() != obj.getClass()) return false;
     ValidationResult other = (ValidationResult) obj;
-    return Objects.equals(validationLevel, other.validationLevel) &&
-        Objects.equals(validationName, other.validationName) &&
-        Objects.equals(message, other.message) &&
-        Objects.equals(pointer, other.pointer);
+    return hash == other.hash &&
+        levelCode == other.levelCode &&
+        nameCode == other.nameCode &&
+        Objects.equals(pointer, other.pointer) &&
+        Objects.equals(message, other.message);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(validationLevel, validationName, message, pointer);
+    return hash;
   }
 }
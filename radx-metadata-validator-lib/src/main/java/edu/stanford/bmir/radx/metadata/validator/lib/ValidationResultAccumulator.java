@@ -0,0 +1,79 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the distinct results of one validation in the order in which they arrive. Duplicates are found with an
+ * open addressing table of indices into the result list, using the hash that each result caches, so no entry
+ * objects are allocated per result. Errors are counted as they are added.
+ */
+class ValidationResultAccumulator {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int ERROR = ValidationLevel.ERROR.ordinal();
+
+  private final ArrayList<ValidationResult> results = new ArrayList<>();
+  /**
+   * Slots hold the index of a result plus one, so that 0 marks an empty slot.
+   */
+  private int[] table = new int[INITIAL_CAPACITY];
+  private int errorCount;
+
+  /**
+   * Adds the result unless an equal result was added before.
+   *
+   * @return true if the result was added
+   */
+  boolean add(ValidationResult result) {
+    int mask = table.length - 1;
+    int slot = spread(result.hashCode()) & mask;
+    while (table[slot] != 0) {
+      if (results.get(table[slot] - 1).equals(result)) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    results.add(result);
+    table[slot] = results.size();
+    if (result.levelCode() == ERROR) {
+      errorCount += 1;
+    }
+    if (results.size() * 2 > table.length) {
+      resize();
+    }
+    return true;
+  }
+
+  boolean hasErrors() {
+    return errorCount > 0;
+  }
+
+  int size() {
+    return results.size();
+  }
+
+  /**
+   * Returns the results in {@link ValidationReport#RESULT_ORDER}. The accumulator should not be used afterwards.
+   */
+  List<ValidationResult> toSortedList() {
+    results.sort(ValidationReport.RESULT_ORDER);
+    return results;
+  }
+
+  private void resize() {
+    int[] newTable = new int[table.length * 2];
+    int mask = newTable.length - 1;
+    for (int i = 0; i < results.size(); i++) {
+      int slot = spread(results.get(i).hashCode()) & mask;
+      while (newTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable[slot] = i + 1;
+    }
+    table = newTable;
+  }
+
+  private static int spread(int h) {
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,18 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+/**
+ * The stages of {@link Validator#validateInstance}, as timed by {@link ValidationMetrics}.
+ */
+public enum ValidationStage {
+  INSTANCE_PARSING,
+  CEDAR_MODEL_VALIDATION,
+  TEMPLATE_COMPILATION,
+  ARTIFACT_READING,
+  SANITATION_CHECK,
+  SCHEMA_VALIDATION,
+  /**
+   * The single pass over the instance that checks required fields, data types and cardinality.
+   */
+  INSTANCE_VALIDATION,
+  LITERAL_FIELD_VALIDATION
+}
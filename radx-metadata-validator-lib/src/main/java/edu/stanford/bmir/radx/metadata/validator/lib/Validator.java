@@ -1,117 +1,446 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import edu.stanford.bmir.radx.metadata.validator.lib.validators.*;
 import org.metadatacenter.artifacts.model.core.TemplateInstanceArtifact;
 import org.metadatacenter.artifacts.model.core.TemplateSchemaArtifact;
 import org.metadatacenter.artifacts.model.reader.ArtifactParseException;
 import org.metadatacenter.artifacts.model.reader.JsonSchemaArtifactReader;
-import org.metadatacenter.artifacts.model.visitors.TemplateReporter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 public class Validator {
+  private static final Set<ValidationName> INSTANCE_CHECKS = EnumSet.of(ValidationName.REQUIREMENT_VALIDATION,
+      ValidationName.DATA_TYPE_VALIDATION, ValidationName.CARDINALITY_VALIDATION, ValidationName.LITERAL_FIELD_VALIDATION);
+
   private final SchemaValidatorComponent schemaValidatorComponent;
   private final CedarSchemaValidatorComponent cedarSchemaValidatorComponent;
-  private final RequiredFieldValidatorComponent requiredFieldValidatorComponent;
-  private final DataTypeValidatorComponent dataTypeValidatorComponent;
-  private final CardinalityValidatorComponent cardinalityValidatorComponent;
+  private final FusedInstanceValidatorComponent fusedInstanceValidatorComponent;
   private final RadxPrecisionValidatorComponent radxPrecisionValidatorComponent;
   private final SanitationChecker sanitationChecker;
   private final LiteralFieldValidators literalFieldValidators;
-
+  private final TemplateCompiler templateCompiler;
+  private final CompiledTemplateCache compiledTemplateCache;
+  private final ValidationOptions options;
+  private final StageExecutor stageExecutor;
+  private final ValidationMetrics metrics;
+  private volatile TemplateHash lastTemplateHash;
 
   public Validator(SchemaValidatorComponent schemaValidatorComponent,
                    CedarSchemaValidatorComponent cedarSchemaValidatorComponent,
-                   RequiredFieldValidatorComponent requiredFieldValidatorComponent, DataTypeValidatorComponent dataTypeValidatorComponent, CardinalityValidatorComponent cardinalityValidatorComponent, RadxPrecisionValidatorComponent radxPrecisionValidatorComponent, SanitationChecker sanitationChecker, LiteralFieldValidators literalFieldValidators) {
+                   FusedInstanceValidatorComponent fusedInstanceValidatorComponent, RadxPrecisionValidatorComponent radxPrecisionValidatorComponent, SanitationChecker sanitationChecker, LiteralFieldValidators literalFieldValidators,
+                   TemplateCompiler templateCompiler, CompiledTemplateCache compiledTemplateCache, ValidationOptions options,
+                   StageExecutor stageExecutor, ValidationMetrics metrics) {
     this.schemaValidatorComponent = schemaValidatorComponent;
     this.cedarSchemaValidatorComponent = cedarSchemaValidatorComponent;
-    this.requiredFieldValidatorComponent = requiredFieldValidatorComponent;
-    this.dataTypeValidatorComponent = dataTypeValidatorComponent;
-    this.cardinalityValidatorComponent = cardinalityValidatorComponent;
+    this.fusedInstanceValidatorComponent = fusedInstanceValidatorComponent;
     this.radxPrecisionValidatorComponent = radxPrecisionValidatorComponent;
     this.sanitationChecker = sanitationChecker;
     this.literalFieldValidators = literalFieldValidators;
+    this.templateCompiler = templateCompiler;
+    this.compiledTemplateCache = compiledTemplateCache;
+    this.options = options;
+    this.stageExecutor = stageExecutor;
+    this.metrics = metrics;
   }
 
 
   public ValidationReport validateInstance(String templateContent, String instanceContent) throws Exception {
-    var results = new HashSet<ValidationResult>();
-    Consumer<ValidationResult> consumer = results::add;
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instanceContent));
+  }
+
+  public ValidationReport validateInstance(byte[] templateContent, byte[] instanceContent) throws Exception {
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instanceContent));
+  }
+
+  public ValidationReport validateInstance(byte[] templateContent, ByteBuffer instanceContent) throws Exception {
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instanceContent));
+  }
+
+  /**
+   * Validates an instance that is parsed directly from the stream. The stream is not closed.
+   */
+  public ValidationReport validateInstance(byte[] templateContent, InputStream instanceContent) throws Exception {
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instanceContent));
+  }
+
+  public ValidationReport validateInstance(byte[] templateContent, Path instance) throws Exception {
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instance));
+  }
+
+  /**
+   * Validates an instance that has already been parsed, such as a record of a {@link BulkInstanceReader}.
+   */
+  public ValidationReport validateInstance(byte[] templateContent, JsonNode instance) throws Exception {
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instance));
+  }
+
+  /**
+   * Validates a parsed instance with the given literal field validators instead of the ones of this validator, for
+   * checks that differ per instance such as the digest of the instance's data file. The template's hash and
+   * compiled form are shared with the other validations of this validator.
+   */
+  public ValidationReport validateInstance(byte[] templateContent, JsonNode instance, LiteralFieldValidators literalFieldValidators) throws Exception {
+    return validate(TemplateContent.of(templateContent), InstanceContent.of(instance), literalFieldValidators);
+  }
+
+  public ValidationReport validateInstance(Path template, Path instance) throws Exception {
+    return validateInstance(Files.readAllBytes(template), instance);
+  }
+
+  /**
+   * Validates an instance and passes every distinct result to the handler as soon as it is produced, instead of
+   * collecting and sorting a report.
+   */
+  public void validateInstance(byte[] templateContent, Path instance, Consumer<ValidationResult> handler) throws Exception {
+    validate(TemplateContent.of(templateContent), InstanceContent.of(instance), literalFieldValidators, new ValidationResultAccumulator(), handler);
+  }
+
+  public void validateInstance(Path template, Path instance, Consumer<ValidationResult> handler) throws Exception {
+    validateInstance(Files.readAllBytes(template), instance, handler);
+  }
+
+  /**
+   * Validates an edited instance using the report of its previous version, which must have been produced by this
+   * validator for the same template. Only the data type checks of the fields that the edit touches are run again;
+   * the required field, cardinality, sanitation and RADx checks cover the whole instance, and schema validation is
+   * skipped if the edit only replaces values that the schema constrains by type alone. Edits whose effect cannot
+   * be derived from the previous report are validated in full, so the report always equals the one of
+   * {@link #validateInstance(byte[], JsonNode)}.
+   */
+  public ValidationReport revalidateInstance(byte[] templateContent, JsonNode previousInstance, ValidationReport previousReport,
+                                             JsonNode currentInstance) throws Exception {
+    var diff = InstanceDiff.between(previousInstance, currentInstance);
+    if(diff.isEmpty()){
+      return previousReport;
+    }
+    ValidationReport report = null;
+    if(!options.hasErrorBudget() && currentInstance.isObject() && !hasBlockingErrors(previousReport)){
+      report = revalidate(TemplateContent.of(templateContent), (ObjectNode) currentInstance, diff, previousReport);
+    }
+    return report != null ? report : validateInstance(templateContent, currentInstance);
+  }
+
+  /**
+   * Returns the report of the edited instance, or null if it has to be validated in full.
+   */
+  private ValidationReport revalidate(TemplateContent templateContent, ObjectNode instanceNode, InstanceDiff diff, ValidationReport previousReport) {
+    long validationStart = metrics.startTimer();
+    var cachedTemplate = compiledTemplateCache.get(getTemplateHash(templateContent));
+    metrics.recordTemplateCacheLookup(cachedTemplate.isPresent());
+    if(cachedTemplate.isEmpty()){
+      return null;
+    }
+    var compiledTemplate = cachedTemplate.get();
+    boolean schemaUnaffected = diff.isShapePreserved()
+        && TypeOnlySchemaCheck.isTypeOnly(compiledTemplate.jsonSchema(), instanceNode, diff.getChangedPointers());
+
+    var results = new ValidationResultAccumulator();
+    Consumer<ValidationResult> consumer = result -> {
+      if(results.add(result)){
+        metrics.recordResult(result);
+      }
+    };
+    for(var result : previousReport.results()){
+      if(result.validationName() == null){
+        return null;
+      }
+      boolean unaffected = switch (result.validationName()) {
+        case CEDAR_MODEL_VALIDATION -> true;
+        case SCHEMA_VALIDATION -> schemaUnaffected;
+        case DATA_TYPE_VALIDATION -> !diff.affects(result.pointer());
+        default -> false;
+      };
+      if(unaffected){
+        consumer.accept(result);
+      }
+    }
 
     try{
+      long artifactReadingStart = metrics.startTimer();
+      JsonSchemaArtifactReader jsonSchemaArtifactReader = new JsonSchemaArtifactReader();
+      TemplateInstanceArtifact templateInstanceArtifact = jsonSchemaArtifactReader.readTemplateInstanceArtifact(instanceNode);
+      metrics.recordStage(ValidationStage.ARTIFACT_READING, artifactReadingStart);
+
+      long sanitationStart = metrics.startTimer();
+      sanitationChecker.validate(compiledTemplate.templateSchemaArtifact(), templateInstanceArtifact, consumer);
+      metrics.recordStage(ValidationStage.SANITATION_CHECK, sanitationStart);
+
+      if(!schemaUnaffected){
+        //schema errors stop the validation before the instance checks, which the full validation reports exactly
+        var schemaResults = new ValidationResultAccumulator();
+        long schemaStart = metrics.startTimer();
+        schemaValidatorComponent.validate(compiledTemplate.instanceSchema(), instanceNode, schemaResults::add);
+        metrics.recordStage(ValidationStage.SCHEMA_VALIDATION, schemaStart);
+        if(schemaResults.hasErrors()){
+          return null;
+        }
+        schemaResults.toSortedList().forEach(consumer);
+      }
+
+      long instanceValidationStart = metrics.startTimer();
+      var radxValues = fusedInstanceValidatorComponent.validate(compiledTemplate.validationPlan(), compiledTemplate.requiredFields(),
+          templateInstanceArtifact, radxPrecisionValidatorComponent.getFieldPaths(), diff::affects, consumer);
+      metrics.recordStage(ValidationStage.INSTANCE_VALIDATION, instanceValidationStart);
+
+      long literalFieldStart = metrics.startTimer();
+      radxPrecisionValidatorComponent.validate(literalFieldValidators, radxValues, consumer);
+      metrics.recordStage(ValidationStage.LITERAL_FIELD_VALIDATION, literalFieldStart);
+    } catch (Exception e){
+      //the full validation reports the failure
+      return null;
+    }
+    metrics.recordValidation(validationStart);
+    return new ValidationReport(results.toSortedList());
+  }
+
+  /**
+   * Returns true if the report has errors that stopped its validation before the instance checks.
+   */
+  private static boolean hasBlockingErrors(ValidationReport report){
+    for(var result : report.results()){
+      if(result.validationLevel() == ValidationLevel.ERROR && !INSTANCE_CHECKS.contains(result.validationName())){
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private ValidationReport validate(TemplateContent templateContent, InstanceContent instanceContent) {
+    return validate(templateContent, instanceContent, literalFieldValidators);
+  }
+
+  private ValidationReport validate(TemplateContent templateContent, InstanceContent instanceContent, LiteralFieldValidators literalFieldValidators) {
+    var results = new ValidationResultAccumulator();
+    validate(templateContent, instanceContent, literalFieldValidators, results, result -> {});
+    return new ValidationReport(results.toSortedList());
+  }
+
+  private void validate(TemplateContent templateContent, InstanceContent instanceContent, LiteralFieldValidators literalFieldValidators,
+                        ValidationResultAccumulator results, Consumer<ValidationResult> handler) {
+    long validationStart = metrics.startTimer();
+    if(metrics.isEnabled()){
+      long instanceSize = instanceContent.size().getAsLong();
+      if(instanceSize >= 0){
+        metrics.recordInstanceSize(instanceSize);
+      }
+    }
+    Consumer<ValidationResult> collector = result -> {
+      if(results.add(result)){
+        metrics.recordResult(result);
+        handler.accept(result);
+      }
+    };
+    //results of the checks go through the error budget, results of a failed validation are always reported
+    var errorBudget = new ErrorBudget(options);
+    Consumer<ValidationResult> consumer = result -> {
+      if(results.add(result)){
+        metrics.recordResult(result);
+        handler.accept(result);
+        errorBudget.record(result);
+      }
+    };
+
+    //stages that are still running when the validation ends, for example at the error budget, are cancelled
+    var forkedStages = new ArrayList<StageExecutor.ForkedStage<?>>();
+    try{
+      //look up the compiled template so that the template is only parsed and read once per content
+      var templateHash = getTemplateHash(templateContent);
+      var cachedTemplate = compiledTemplateCache.get(templateHash);
+      metrics.recordTemplateCacheLookup(cachedTemplate.isPresent());
+
       //validate the provided files are JSON file and get the templateNode and instanceNode
-      var templateNode = JsonLoader.loadJson(templateContent, "Template");
-      var instanceNode = JsonLoader.loadJson(instanceContent, "Instance");
+      var templateNode = cachedTemplate.isPresent() ? cachedTemplate.get().jsonSchema() : templateContent.loader().get();
+      var instanceNodeStage = fork(forkedStages, timed(ValidationStage.INSTANCE_PARSING, h -> instanceContent.loader().get()));
 
       //validate the template is CEDAR model template
       //TODO: patch template
-      cedarSchemaValidatorComponent.validate(templateNode, consumer);
+      var cedarStage = fork(forkedStages, timed(ValidationStage.CEDAR_MODEL_VALIDATION, h -> {
+        cedarSchemaValidatorComponent.validate(templateHash, templateNode, h);
+        return null;
+      }));
+      var instanceNode = instanceNodeStage.join(consumer);
+      cedarStage.join(consumer);
 
-      if(passValidation(results)){
+      if(!results.hasErrors()){
         //Read template and get valueConstraints map
-        JsonSchemaArtifactReader jsonSchemaArtifactReader = new JsonSchemaArtifactReader();
-        TemplateSchemaArtifact templateSchemaArtifact = jsonSchemaArtifactReader.readTemplateSchemaArtifact((ObjectNode) templateNode);
-        TemplateReporter templateReporter = new TemplateReporter(templateSchemaArtifact);
+        var compiledTemplateStage = fork(forkedStages, h ->
+            cachedTemplate.isPresent() ? cachedTemplate.get() : compileTemplate(templateHash, templateContent.weight(), templateNode));
 
-        //Read instance and get values map
-        TemplateInstanceArtifact templateInstanceArtifact = jsonSchemaArtifactReader.readTemplateInstanceArtifact((ObjectNode) instanceNode);
-        TemplateInstanceValuesReporter templateInstanceValuesReporter = new TemplateInstanceValuesReporter(templateInstanceArtifact);
-
-        // Check if the instance's "isBasedOn" equals to template id
-        sanitationChecker.validate(templateSchemaArtifact, templateInstanceArtifact, consumer);
+        //Read instance
+        var instanceArtifactStage = fork(forkedStages, timed(ValidationStage.ARTIFACT_READING, h -> {
+          JsonSchemaArtifactReader jsonSchemaArtifactReader = new JsonSchemaArtifactReader();
+          return jsonSchemaArtifactReader.readTemplateInstanceArtifact((ObjectNode) instanceNode);
+        }));
+        var compiledTemplate = compiledTemplateStage.join(consumer);
 
         //Compare instance JSON schema against template's
-        schemaValidatorComponent.validate(templateNode, instanceNode, consumer);
-
-        if(passValidation(results)){
-          //validate required fields
-          requiredFieldValidatorComponent.validate(templateSchemaArtifact, templateReporter, templateInstanceValuesReporter, consumer);
+        var schemaStage = fork(forkedStages, timed(ValidationStage.SCHEMA_VALIDATION, h -> {
+          schemaValidatorComponent.validate(compiledTemplate.instanceSchema(), instanceNode, h);
+          return null;
+        }));
+        TemplateSchemaArtifact templateSchemaArtifact = compiledTemplate.templateSchemaArtifact();
+        TemplateInstanceArtifact templateInstanceArtifact = instanceArtifactStage.join(consumer);
 
-          //validate data type
-          dataTypeValidatorComponent.validate(templateReporter, templateInstanceValuesReporter, consumer);
+        // Check if the instance's "isBasedOn" equals to template id
+        long sanitationStart = metrics.startTimer();
+        sanitationChecker.validate(templateSchemaArtifact, templateInstanceArtifact, consumer);
+        metrics.recordStage(ValidationStage.SANITATION_CHECK, sanitationStart);
+        schemaStage.join(consumer);
 
-          //validate cardinality
-          cardinalityValidatorComponent.validate(templateReporter, templateInstanceValuesReporter, consumer);
+        if(!results.hasErrors()){
+          //validate required fields, data type and cardinality in one pass over the instance
+          long instanceValidationStart = metrics.startTimer();
+          var radxValues = fusedInstanceValidatorComponent.validate(compiledTemplate.validationPlan(), compiledTemplate.requiredFields(),
+              templateInstanceArtifact, radxPrecisionValidatorComponent.getFieldPaths(), consumer);
+          metrics.recordStage(ValidationStage.INSTANCE_VALIDATION, instanceValidationStart);
 
           //RADx specific validation
-          radxPrecisionValidatorComponent.validate(literalFieldValidators, templateInstanceValuesReporter, consumer);
+          long literalFieldStart = metrics.startTimer();
+          radxPrecisionValidatorComponent.validate(literalFieldValidators, radxValues, consumer);
+          metrics.recordStage(ValidationStage.LITERAL_FIELD_VALIDATION, literalFieldStart);
         }
       }
+    } catch (ErrorBudget.ExhaustedException e) {
+      // stop at the configured number of errors
     } catch (JsonParseException e) {
-      consumer.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.JSON_VALIDATION, e.getMessage(), ""));
+      collector.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.JSON_VALIDATION, e.getMessage(), ""));
     } catch (ArtifactParseException e) {
       String errorMessage = e.getMessage();
       String pointer = e.getPath();
-      consumer.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.ARTIFACT_SCHEMA_VALIDATION, errorMessage, pointer));
-    } catch (ProcessingException e){
-      consumer.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, e.getMessage(), ""));
+      collector.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.ARTIFACT_SCHEMA_VALIDATION, errorMessage, pointer));
+    } catch (SchemaProcessingException e){
+      collector.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, e.getMessage(), ""));
     } catch (Exception e){
-      consumer.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.UNKNOWN, e.getMessage(), ""));
+      collector.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.UNKNOWN, e.getMessage(), ""));
       for (StackTraceElement element : e.getStackTrace()) {
         System.out.println(element.toString());
       }
+    } finally {
+      forkedStages.forEach(StageExecutor.ForkedStage::cancel);
+      metrics.recordValidation(validationStart);
     }
+  }
+
+  private <T> StageExecutor.ForkedStage<T> fork(List<StageExecutor.ForkedStage<?>> forkedStages, StageExecutor.Stage<T> stage) {
+    var forkedStage = stageExecutor.fork(stage);
+    forkedStages.add(forkedStage);
+    return forkedStage;
+  }
+
+  /**
+   * Wraps a stage so that its time is recorded on the thread that runs it.
+   */
+  private <T> StageExecutor.Stage<T> timed(ValidationStage stage, StageExecutor.Stage<T> body) {
+    if(!metrics.isEnabled()){
+      return body;
+    }
+    return h -> {
+      long start = metrics.startTimer();
+      try {
+        return body.run(h);
+      } finally {
+        metrics.recordStage(stage, start);
+      }
+    };
+  }
 
-    var comparator = Comparator.comparing(ValidationResult::validationLevel)
-        .thenComparing(ValidationResult::pointer)
-        .thenComparing(ValidationResult::validationName);
+  private CompiledTemplate compileTemplate(String templateHash, long weight, JsonNode templateNode) {
+    return compiledTemplateCache.getOrCompile(templateHash, () -> {
+      long start = metrics.startTimer();
+      var compiledTemplate = templateCompiler.compile(templateHash, weight, templateNode);
+      metrics.recordStage(ValidationStage.TEMPLATE_COMPILATION, start);
+      return compiledTemplate;
+    });
+  }
 
-    var resultsList = new ArrayList<>(results);
-    resultsList.sort(comparator);
-    return new ValidationReport(resultsList);
+  /**
+   * Hashes the template content. Batch callers pass the same template for every instance, so the most recent
+   * content and its hash are remembered. The content is compared, not the reference, because a caller may refill
+   * the same array with another template.
+   */
+  private String getTemplateHash(TemplateContent templateContent){
+    var last = lastTemplateHash;
+    if(last != null && last.matches(templateContent.content())){
+      return last.hash();
+    }
+    var hash = templateContent.hasher().get();
+    lastTemplateHash = TemplateHash.of(templateContent.content(), hash);
+    return hash;
   }
 
-  private boolean passValidation(HashSet<ValidationResult> results){
-    for(var result : results){
-      if (result.validationLevel() == ValidationLevel.ERROR){
-        return false;
+  /**
+   * @param content A string, or a copy of the array that was hashed.
+   */
+  private record TemplateHash(Object content, String hash) {
+    static TemplateHash of(Object content, String hash) {
+      return new TemplateHash(content instanceof byte[] bytes ? bytes.clone() : content, hash);
+    }
+
+    boolean matches(Object other) {
+      if(content instanceof byte[] bytes){
+        return other instanceof byte[] otherBytes && Arrays.equals(bytes, otherBytes);
       }
+      return content.equals(other);
+    }
+  }
+
+  /**
+   * @param size Returns the size of the instance in bytes (characters for strings), or -1 if it is not known. It is
+   *             only called when metrics are enabled.
+   */
+  private record InstanceContent(LongSupplier size, Supplier<JsonNode> loader) {
+    static InstanceContent of(String content) {
+      return new InstanceContent(content::length, () -> JsonLoader.loadJson(content, "Instance"));
+    }
+
+    static InstanceContent of(byte[] content) {
+      return new InstanceContent(() -> content.length, () -> JsonLoader.loadJson(content, "Instance"));
+    }
+
+    static InstanceContent of(ByteBuffer content) {
+      return new InstanceContent(content::remaining, () -> JsonLoader.loadJson(content, "Instance"));
+    }
+
+    static InstanceContent of(InputStream content) {
+      return new InstanceContent(() -> -1, () -> JsonLoader.loadJson(content, "Instance"));
+    }
+
+    static InstanceContent of(JsonNode instance) {
+      return new InstanceContent(() -> -1, () -> instance);
+    }
+
+    static InstanceContent of(Path instance) {
+      return new InstanceContent(() -> {
+        try {
+          return Files.size(instance);
+        } catch (IOException e) {
+          return -1;
+        }
+      }, () -> JsonLoader.loadJson(instance, "Instance"));
+    }
+  }
+
+  private record TemplateContent(Object content, long weight, Supplier<String> hasher, Supplier<JsonNode> loader) {
+    static TemplateContent of(String content) {
+      return new TemplateContent(content, content.length(), () -> ContentHash.sha256(content), () -> JsonLoader.loadJson(content, "Template"));
+    }
+
+    static TemplateContent of(byte[] content) {
+      return new TemplateContent(content, content.length, () -> ContentHash.sha256(content), () -> JsonLoader.loadJson(content, "Template"));
     }
-    return true;
   }
 }
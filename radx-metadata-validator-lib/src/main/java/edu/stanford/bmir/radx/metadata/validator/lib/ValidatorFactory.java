@@ -1,44 +1,57 @@
 package edu.stanford.bmir.radx.metadata.validator.lib;
 
 import edu.stanford.bmir.radx.metadata.validator.lib.validators.*;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidatorFactory {
   private final SchemaValidatorComponent schemaValidatorComponent;
   private final CedarSchemaValidatorComponent cedarSchemaValidatorComponent;
-  private final RequiredFieldValidatorComponent requiredFieldValidatorComponent;
-  private final DataTypeValidatorComponent dataTypeValidatorComponent;
-  private final CardinalityValidatorComponent cardinalityValidatorComponent;
+  private final FusedInstanceValidatorComponent fusedInstanceValidatorComponent;
   private final RadxPrecisionValidatorComponent radxPrecisionValidatorComponent;
   private final SanitationChecker sanitationChecker;
+  private final TemplateCompiler templateCompiler;
+  private final CompiledTemplateCache compiledTemplateCache;
+  private final ValidationMetrics validationMetrics;
 
   @Autowired
   public ValidatorFactory(SchemaValidatorComponent schemaValidatorComponent,
                           CedarSchemaValidatorComponent cedarSchemaValidatorComponent,
-                          RequiredFieldValidatorComponent requiredFieldValidatorComponent,
-                          DataTypeValidatorComponent dataTypeValidatorComponent,
-                          @Qualifier("MetadataCardinalityValidatorComponent") CardinalityValidatorComponent cardinalityValidatorComponent,
-                          RadxPrecisionValidatorComponent radxPrecisionValidatorComponent, SanitationChecker sanitationChecker) {
+                          FusedInstanceValidatorComponent fusedInstanceValidatorComponent,
+                          RadxPrecisionValidatorComponent radxPrecisionValidatorComponent, SanitationChecker sanitationChecker,
+                          TemplateCompiler templateCompiler, CompiledTemplateCache compiledTemplateCache,
+                          ObjectProvider<ValidationMetrics> validationMetrics) {
     this.schemaValidatorComponent = schemaValidatorComponent;
     this.cedarSchemaValidatorComponent = cedarSchemaValidatorComponent;
-    this.requiredFieldValidatorComponent = requiredFieldValidatorComponent;
-    this.dataTypeValidatorComponent = dataTypeValidatorComponent;
-    this.cardinalityValidatorComponent = cardinalityValidatorComponent;
+    this.fusedInstanceValidatorComponent = fusedInstanceValidatorComponent;
     this.radxPrecisionValidatorComponent = radxPrecisionValidatorComponent;
     this.sanitationChecker = sanitationChecker;
+    this.templateCompiler = templateCompiler;
+    this.compiledTemplateCache = compiledTemplateCache;
+    this.validationMetrics = validationMetrics.getIfAvailable(() -> ValidationMetrics.NOOP);
   }
 
   public Validator createValidator(LiteralFieldValidators literalFieldValidators){
+    return createValidator(literalFieldValidators, ValidationOptions.DEFAULT);
+  }
+
+  public Validator createValidator(LiteralFieldValidators literalFieldValidators, ValidationOptions options){
+    return createValidator(literalFieldValidators, options, StageExecutor.SEQUENTIAL);
+  }
+
+  public Validator createValidator(LiteralFieldValidators literalFieldValidators, ValidationOptions options, StageExecutor stageExecutor){
     return  new Validator(schemaValidatorComponent,
         cedarSchemaValidatorComponent,
-        requiredFieldValidatorComponent,
-        dataTypeValidatorComponent,
-        cardinalityValidatorComponent,
+        fusedInstanceValidatorComponent,
         radxPrecisionValidatorComponent,
         sanitationChecker,
-        literalFieldValidators);
+        literalFieldValidators,
+        templateCompiler,
+        compiledTemplateCache,
+        options,
+        stageExecutor,
+        validationMetrics);
   }
 }
@@ -32,7 +32,18 @@ public class CardinalityValidatorComponent {
     }
   }
 
-  private void checkCardinality (ChildSchemaArtifact artifact, Integer size, Consumer<ValidationResult> handler, String path){
+  /**
+   * Returns true if {@link #checkCardinality} would not report anything for the given number of instances.
+   */
+  public boolean hasValidCardinality(ChildSchemaArtifact artifact, int size){
+    if(artifact.isMultiple()){
+      return (artifact.minItems().isEmpty() || size >= artifact.minItems().get())
+          && (artifact.maxItems().isEmpty() || size <= artifact.maxItems().get());
+    }
+    return size <= 1;
+  }
+
+  public void checkCardinality(ChildSchemaArtifact artifact, Integer size, Consumer<ValidationResult> handler, String path){
     if(artifact.isMultiple()){
       if (artifact.minItems().isPresent() && size < artifact.minItems().get()){
         String message = String.format("Element configured to have at least %s instances, but %s is provided", artifact.minItems().get(), size) + " at " + path;
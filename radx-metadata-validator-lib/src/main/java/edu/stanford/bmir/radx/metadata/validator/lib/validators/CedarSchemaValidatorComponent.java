@@ -1,6 +1,7 @@
 package edu.stanford.bmir.radx.metadata.validator.lib.validators;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.ContentHash;
 import edu.stanford.bmir.radx.metadata.validator.lib.ValidationLevel;
 import edu.stanford.bmir.radx.metadata.validator.lib.ValidationResult;
 import edu.stanford.bmir.radx.metadata.validator.lib.ValidationName;
@@ -10,21 +11,68 @@ import org.metadatacenter.model.validation.report.ErrorItem;
 import org.metadatacenter.model.validation.report.ValidationReport;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 @Component
 public class CedarSchemaValidatorComponent {
+  private static final int MAX_VALIDATED_TEMPLATES = 256;
+  /**
+   * The outcome of the CEDAR model validation never changes for a given template, so the results are kept per
+   * template hash and replayed for later instances. Concurrent requests for a template that is being validated
+   * wait for that validation instead of starting another one.
+   */
+  private final Map<String, CompletableFuture<List<ValidationResult>>> validatedTemplates = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<List<ValidationResult>>> eldest) {
+          return size() > MAX_VALIDATED_TEMPLATES;
+        }
+      });
+
   public void validate(JsonNode templateNode, Consumer<ValidationResult> handler) throws Exception {
+    validate(ContentHash.sha256(templateNode.toString()), templateNode, handler);
+  }
+
+  public void validate(String templateHash, JsonNode templateNode, Consumer<ValidationResult> handler) throws Exception {
+    var validation = new CompletableFuture<List<ValidationResult>>();
+    var results = validatedTemplates.computeIfAbsent(templateHash, hash -> validation);
+    if (results == validation) {
+      try {
+        validation.complete(validateTemplate(templateNode));
+      } catch (Exception | Error e) {
+        //failures are not cached, the next request validates the template again
+        validatedTemplates.remove(templateHash, validation);
+        validation.completeExceptionally(e);
+        throw e;
+      }
+    }
+    try {
+      results.join().forEach(handler);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  private List<ValidationResult> validateTemplate(JsonNode templateNode) throws Exception {
+    //a template is validated once, so the validator is not shared between threads
     ModelValidator cedarModelValidator = new CedarValidator();
     ValidationReport validationReport = cedarModelValidator.validateTemplate(templateNode);
 
-    if (validationReport.getValidationStatus().equals("true")) {
-      System.out.println("Template is valid");
-    } else {
-      System.out.println("Template is invalid. Found " + validationReport.getErrors().size() + " error(s)");
+    var results = new ArrayList<ValidationResult>();
+    if (!validationReport.getValidationStatus().equals("true")) {
       for (ErrorItem errorItem : validationReport.getErrors()) {
-        handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.CEDAR_MODEL_VALIDATION, "Template is invalid. " + errorItem.getMessage(), ""));
+        results.add(new ValidationResult(ValidationLevel.ERROR, ValidationName.CEDAR_MODEL_VALIDATION, "Template is invalid. " + errorItem.getMessage(), ""));
       }
     }
+    return List.copyOf(results);
   }
 }
@@ -0,0 +1,19 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationResult;
+
+import java.util.function.Consumer;
+
+/**
+ * A JSON schema compiled by a {@link SchemaEngine}. Implementations are immutable and can be shared between threads.
+ */
+public interface CompiledSchema {
+  /**
+   * Validates the instance and reports every schema violation as a
+   * {@link edu.stanford.bmir.radx.metadata.validator.lib.ValidationName#SCHEMA_VALIDATION} error. The pointer of
+   * each result is the location of the violated subschema with {@code /properties} and {@code /items} removed, so
+   * that all engines report the same pointers.
+   */
+  void validate(JsonNode instance, Consumer<ValidationResult> handler);
+}
@@ -0,0 +1,93 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The datatypes that a data dictionary can declare for a column, and how the values of each are checked. Empty
+ * values are missing data and are valid for every datatype.
+ */
+enum DataFileDatatype {
+  INTEGER("integer"),
+  DECIMAL("decimal number"),
+  BOOLEAN("boolean"),
+  DATE("date"),
+  DATETIME("date and time"),
+  TIME("time"),
+  URI("URI"),
+  STRING("string");
+
+  private static final Pattern INTEGER_PATTERN = Pattern.compile("[+-]?\\d+");
+  private static final Pattern DECIMAL_PATTERN = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+  private final String description;
+
+  DataFileDatatype(String description) {
+    this.description = description;
+  }
+
+  String getDescription() {
+    return description;
+  }
+
+  /**
+   * Returns the datatype of a dictionary's Datatype value, such as {@code integer} or {@code xsd:dateTime}.
+   * Unknown datatypes are treated as {@link #STRING}, whose values are not checked.
+   */
+  static DataFileDatatype fromName(String name) {
+    var normalizedName = name.trim().toLowerCase(Locale.ROOT);
+    if (normalizedName.startsWith("xsd:")) {
+      normalizedName = normalizedName.substring("xsd:".length());
+    }
+    return switch (normalizedName) {
+      case "integer", "int", "long", "short", "nonnegativeinteger", "positiveinteger" -> INTEGER;
+      case "decimal", "float", "double", "number", "numeric" -> DECIMAL;
+      case "boolean", "bool" -> BOOLEAN;
+      case "date" -> DATE;
+      case "datetime" -> DATETIME;
+      case "time" -> TIME;
+      case "uri", "anyuri", "iri" -> URI;
+      default -> STRING;
+    };
+  }
+
+  boolean isValid(String value) {
+    if (value.isEmpty()) {
+      return true;
+    }
+    return switch (this) {
+      case INTEGER -> INTEGER_PATTERN.matcher(value).matches();
+      case DECIMAL -> DECIMAL_PATTERN.matcher(value).matches();
+      case BOOLEAN -> value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false") || value.equals("1") || value.equals("0");
+      case DATE -> parses(() -> LocalDate.parse(value));
+      case DATETIME -> parses(() -> OffsetDateTime.parse(value)) || parses(() -> LocalDateTime.parse(value));
+      case TIME -> parses(() -> LocalTime.parse(value));
+      case URI -> isAbsoluteUri(value);
+      case STRING -> true;
+    };
+  }
+
+  private static boolean parses(Runnable parser) {
+    try {
+      parser.run();
+      return true;
+    } catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  private static boolean isAbsoluteUri(String value) {
+    try {
+      return new URI(value).isAbsolute();
+    } catch (URISyntaxException e) {
+      return false;
+    }
+  }
+}
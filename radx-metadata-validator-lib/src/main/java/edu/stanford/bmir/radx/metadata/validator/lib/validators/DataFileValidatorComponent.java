@@ -0,0 +1,391 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.DataDictionary;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationLevel;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationName;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationResult;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Checks a CSV data file against its data dictionary: the header must list the dictionary's variables, and the
+ * values of each column must match the datatype that the dictionary declares for it. The rows are split into byte
+ * ranges that are parsed in parallel, and only the first few invalid values of each column are kept, so memory
+ * does not grow with the size of the file. Rows with the wrong number of values are reported per range. A quoted
+ * value that spans lines across a range boundary leaves the earlier range inside the quotes at its end, so if any
+ * range fails to parse, the whole file is checked again in one pass.
+ */
+@Component
+public class DataFileValidatorComponent {
+  public static final long DEFAULT_CHUNK_SIZE = 32L * 1024 * 1024;
+  static final int MAX_REPORTED_VALUES = 10;
+
+  private final long chunkSize;
+
+  public DataFileValidatorComponent() {
+    this(DEFAULT_CHUNK_SIZE);
+  }
+
+  public DataFileValidatorComponent(long chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be at least 1");
+    }
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Checks the data file, parsing its byte ranges on the executor. Results are passed to the handler on the
+   * calling thread.
+   */
+  public void validate(Path dataFile, Path dictionary, Executor executor, Consumer<ValidationResult> handler) throws IOException {
+    var fileName = dataFile.getFileName().toString();
+    DataDictionary dataDictionary;
+    try {
+      dataDictionary = DataDictionary.read(dictionary);
+    } catch (IllegalArgumentException e) {
+      handler.accept(error(e.getMessage(), ""));
+      return;
+    }
+
+    try (var channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+      var header = readHeader(channel);
+      if (header.columns().isEmpty()) {
+        handler.accept(error("Data file " + fileName + " has no header.", ""));
+        return;
+      }
+      var columns = header.columns();
+      checkColumns(columns, dataDictionary, fileName, handler);
+
+      var datatypes = new DataFileDatatype[columns.size()];
+      var declaredDatatypes = new HashMap<String, String>();
+      for (var variable : dataDictionary.variables()) {
+        declaredDatatypes.putIfAbsent(variable.id(), variable.datatype());
+      }
+      for (int i = 0; i < columns.size(); i++) {
+        var datatype = declaredDatatypes.get(columns.get(i));
+        datatypes[i] = datatype == null ? DataFileDatatype.STRING : DataFileDatatype.fromName(datatype);
+      }
+
+      long size = channel.size();
+      var futures = new ArrayList<CompletableFuture<RangeResult>>();
+      for (long start = header.end(); start < size; start += chunkSize) {
+        long rangeStart = start;
+        long rangeEnd = Math.min(start + chunkSize, size);
+        futures.add(CompletableFuture.supplyAsync(() -> checkRange(channel, rangeStart, rangeEnd, columns.size(), datatypes), executor));
+      }
+      var rangeResults = new ArrayList<RangeResult>(futures.size());
+      try {
+        for (var future : futures) {
+          rangeResults.add(future.join());
+        }
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof UncheckedIOException cause) {
+          throw cause.getCause();
+        }
+        throw e;
+      }
+      if (rangeResults.stream().anyMatch(result -> !result.wellFormed)) {
+        rangeResults = new ArrayList<>(List.of(checkRange(channel, header.end(), size, columns.size(), datatypes)));
+      }
+      report(rangeResults, columns, datatypes, fileName, handler);
+    }
+  }
+
+  private static void checkColumns(List<String> columns, DataDictionary dataDictionary, String fileName, Consumer<ValidationResult> handler) {
+    var variables = new LinkedHashSet<String>();
+    dataDictionary.variables().forEach(variable -> variables.add(variable.id()));
+    var seenColumns = new HashSet<String>();
+    for (var column : columns) {
+      if (!seenColumns.add(column)) {
+        handler.accept(error("Column " + column + " appears more than once in data file " + fileName, column));
+      } else if (!variables.contains(column)) {
+        handler.accept(error("Column " + column + " of data file " + fileName + " is not in the data dictionary", column));
+      }
+    }
+    for (var variable : variables) {
+      if (!seenColumns.contains(variable)) {
+        handler.accept(error("Variable " + variable + " of the data dictionary is not a column of data file " + fileName, variable));
+      }
+    }
+  }
+
+  /**
+   * Parses the rows that start in the byte range {@code [start, end)}. The range is not well formed if the parse
+   * fails before its end.
+   */
+  private static RangeResult checkRange(FileChannel channel, long start, long end, int columnCount, DataFileDatatype[] datatypes) {
+    var result = new RangeResult(columnCount);
+    try (var parser = CSVParser.parse(new InputStreamReader(new LineRangeInputStream(channel, start, end), StandardCharsets.UTF_8), CSVFormat.DEFAULT)) {
+      var records = parser.iterator();
+      while (records.hasNext()) {
+        var record = records.next();
+        result.rowCount++;
+        if (record.size() != columnCount) {
+          result.addMalformedRow(result.rowCount, record.size());
+          continue;
+        }
+        for (int i = 0; i < columnCount; i++) {
+          if (datatypes[i] != DataFileDatatype.STRING) {
+            var value = record.get(i);
+            if (!datatypes[i].isValid(value)) {
+              result.addInvalidValue(i, result.rowCount, value);
+            }
+          }
+        }
+      }
+    } catch (UncheckedIOException | IllegalStateException e) {
+      result.wellFormed = false;
+      result.parseError = e.getMessage();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result;
+  }
+
+  private static void report(List<RangeResult> rangeResults, List<String> columns, DataFileDatatype[] datatypes, String fileName,
+                             Consumer<ValidationResult> handler) {
+    var invalidCounts = new long[columns.size()];
+    var reportedCounts = new int[columns.size()];
+    long malformedRowCount = 0;
+    int reportedMalformedRows = 0;
+    long rowOffset = 0;
+    for (var rangeResult : rangeResults) {
+      for (int i = 0; i < columns.size(); i++) {
+        invalidCounts[i] += rangeResult.invalidCounts[i];
+        for (var invalidValue : rangeResult.invalidValues.get(i)) {
+          if (reportedCounts[i] < MAX_REPORTED_VALUES) {
+            reportedCounts[i]++;
+            var message = String.format("Value \"%s\" in row %d of column %s is not a valid %s", invalidValue.value(),
+                rowOffset + invalidValue.row(), columns.get(i), datatypes[i].getDescription());
+            handler.accept(error(message, columns.get(i)));
+          }
+        }
+      }
+      malformedRowCount += rangeResult.malformedRowCount;
+      for (var malformedRow : rangeResult.malformedRows) {
+        if (reportedMalformedRows < MAX_REPORTED_VALUES) {
+          reportedMalformedRows++;
+          var message = String.format("Row %d of data file %s has %d values, but the header has %d columns",
+              rowOffset + malformedRow.row(), fileName, malformedRow.size(), columns.size());
+          handler.accept(error(message, ""));
+        }
+      }
+      if (rangeResult.parseError != null) {
+        handler.accept(error("Data file " + fileName + " could not be parsed after row " + (rowOffset + rangeResult.rowCount) + ": " + rangeResult.parseError, ""));
+      }
+      rowOffset += rangeResult.rowCount;
+    }
+
+    for (int i = 0; i < columns.size(); i++) {
+      if (invalidCounts[i] > reportedCounts[i]) {
+        var message = String.format("%d more values of column %s are not a valid %s", invalidCounts[i] - reportedCounts[i],
+            columns.get(i), datatypes[i].getDescription());
+        handler.accept(error(message, columns.get(i)));
+      }
+    }
+    if (malformedRowCount > reportedMalformedRows) {
+      var message = String.format("%d more rows of data file %s do not have %d values", malformedRowCount - reportedMalformedRows,
+          fileName, columns.size());
+      handler.accept(error(message, ""));
+    }
+  }
+
+  /**
+   * Reads the first line of the file, which is assumed not to contain quoted line breaks.
+   */
+  private static Header readHeader(FileChannel channel) throws IOException {
+    var line = new ByteArrayOutputStream();
+    var buffer = ByteBuffer.allocate(8192);
+    long position = 0;
+    long end = -1;
+    while (end < 0) {
+      buffer.clear();
+      int read = channel.read(buffer, position);
+      if (read <= 0) {
+        end = position;
+        break;
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        byte b = buffer.get();
+        position++;
+        if (b == '\n') {
+          end = position;
+          break;
+        }
+        line.write(b);
+      }
+    }
+    var headerLine = DataDictionary.stripBom(line.toString(StandardCharsets.UTF_8));
+    if (headerLine.endsWith("\r")) {
+      headerLine = headerLine.substring(0, headerLine.length() - 1);
+    }
+    if (headerLine.isEmpty()) {
+      return new Header(List.of(), end);
+    }
+    try (var parser = CSVParser.parse(headerLine, CSVFormat.DEFAULT)) {
+      var columns = new ArrayList<String>();
+      for (var column : parser.iterator().next()) {
+        columns.add(column.trim());
+      }
+      return new Header(columns, end);
+    }
+  }
+
+  private static ValidationResult error(String message, String pointer) {
+    return new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_FILE_VALIDATION, message, pointer);
+  }
+
+  private record Header(List<String> columns, long end) {
+  }
+
+  private record InvalidValue(long row, String value) {
+  }
+
+  private record MalformedRow(long row, int size) {
+  }
+
+  /**
+   * The results of one byte range, with row numbers counted from the start of the range.
+   */
+  private static class RangeResult {
+    private boolean wellFormed = true;
+    private long rowCount = 0;
+    private final long[] invalidCounts;
+    private final List<List<InvalidValue>> invalidValues;
+    private long malformedRowCount = 0;
+    private final List<MalformedRow> malformedRows = new ArrayList<>();
+    private String parseError;
+
+    private RangeResult(int columnCount) {
+      this.invalidCounts = new long[columnCount];
+      this.invalidValues = new ArrayList<>(columnCount);
+      for (int i = 0; i < columnCount; i++) {
+        invalidValues.add(new ArrayList<>());
+      }
+    }
+
+    private void addInvalidValue(int column, long row, String value) {
+      invalidCounts[column]++;
+      if (invalidValues.get(column).size() < MAX_REPORTED_VALUES) {
+        invalidValues.get(column).add(new InvalidValue(row, value));
+      }
+    }
+
+    private void addMalformedRow(long row, int size) {
+      malformedRowCount++;
+      if (malformedRows.size() < MAX_REPORTED_VALUES) {
+        malformedRows.add(new MalformedRow(row, size));
+      }
+    }
+  }
+
+  /**
+   * Reads the lines of a file that start in the byte range {@code [start, end)}, where {@code start} is after the
+   * header. Reading begins at the first line that starts at or after {@code start} and stops at the first line
+   * that starts at or after {@code end}.
+   */
+  private static class LineRangeInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long end;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private long readPosition;
+    private boolean atLineStart = false;
+    private boolean finished = false;
+
+    private LineRangeInputStream(FileChannel channel, long start, long end) throws IOException {
+      this.channel = channel;
+      this.end = end;
+      this.readPosition = start - 1;
+      buffer.limit(0);
+      int b;
+      do {
+        b = nextByte();
+      } while (b != -1 && b != '\n');
+      atLineStart = true;
+    }
+
+    /**
+     * The position in the file of the next byte to be returned.
+     */
+    private long position() {
+      return readPosition - buffer.remaining();
+    }
+
+    private int nextByte() throws IOException {
+      if (!buffer.hasRemaining() && !fill()) {
+        return -1;
+      }
+      return buffer.get() & 0xff;
+    }
+
+    private boolean fill() throws IOException {
+      buffer.clear();
+      int read = channel.read(buffer, readPosition);
+      buffer.flip();
+      if (read <= 0) {
+        return false;
+      }
+      readPosition += read;
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (finished || (atLineStart && position() >= end)) {
+        finished = true;
+        return -1;
+      }
+      int b = nextByte();
+      if (b == -1) {
+        finished = true;
+        return -1;
+      }
+      atLineStart = b == '\n';
+      return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      long position = position();
+      if (finished || position >= end) {
+        //past the range, only the rest of the current line is read
+        int b = read();
+        if (b == -1) {
+          return -1;
+        }
+        bytes[offset] = (byte) b;
+        return 1;
+      }
+      //every byte before the end of the range belongs to a line that starts in the range
+      if (!buffer.hasRemaining() && !fill()) {
+        finished = true;
+        return -1;
+      }
+      int count = (int) Math.min(Math.min(length, buffer.remaining()), end - position);
+      buffer.get(bytes, offset, count);
+      atLineStart = bytes[offset + count - 1] == '\n';
+      return count;
+    }
+  }
+}
@@ -17,12 +17,14 @@ import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Component
 public class DataTypeValidatorComponent {
+  private static final Pattern EMAIL_PATTERN = Pattern.compile(
+      "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
   private final TextFieldValidationUtil textFieldValidationUtil;
   private final NumericFieldValidationUtil numericFieldValidationUtil;
   private final AttributeValueValidationUtil attributeValueValidationUtil;
@@ -36,6 +38,10 @@ public class DataTypeValidatorComponent {
   }
 
   public void validate(TemplateReporter templateReporter, TemplateInstanceValuesReporter valuesReporter, Consumer<ValidationResult> handler){
+    validate(templateReporter, LiteralLabelIndex.EMPTY, valuesReporter, handler);
+  }
+
+  public void validate(TemplateReporter templateReporter, LiteralLabelIndex literalLabelIndex, TemplateInstanceValuesReporter valuesReporter, Consumer<ValidationResult> handler){
     var values = valuesReporter.getValues();
 
     for (Map.Entry<String, FieldValues> FieldEntry : values.entrySet()) {
@@ -88,7 +94,12 @@ public class DataTypeValidatorComponent {
         } else if (fieldInputType == FieldInputType.RADIO || fieldInputType == FieldInputType.CHECKBOX || fieldInputType == FieldInputType.LIST) {
           if(value.isPresent()){
             fieldSchemaValidationHelper.validateTextField(value, id, label, type, handler, path);
-            validateLiterals(value.get(), valueConstraint.get(), handler, path);
+            var literalLabels = literalLabelIndex.getLabels(valueConstraint.get());
+            if(literalLabels != null){
+              validateLiterals(value.get(), literalLabels, handler, path);
+            } else {
+              validateLiterals(value.get(), valueConstraint.get(), handler, path);
+            }
           }
         }
       }
@@ -98,17 +109,39 @@ public class DataTypeValidatorComponent {
     attributeValueValidationUtil.validateAttributeValueField(templateReporter, valuesReporter.getAttributeValueFields(), handler);
   }
 
+  /**
+   * Validates the values with the checks of a compiled {@link ValidationPlan} instead of looking up the template
+   * for every value. Reports the same results as {@link #validate(TemplateReporter, TemplateInstanceValuesReporter, Consumer)}.
+   */
+  public void validate(ValidationPlan validationPlan, TemplateInstanceValuesReporter valuesReporter, Consumer<ValidationResult> handler){
+    for (Map.Entry<String, FieldValues> fieldEntry : valuesReporter.getValues().entrySet()) {
+      String path = fieldEntry.getKey();
+      validationPlan.getFieldCheck(path).check(fieldEntry.getValue(), handler, path);
+    }
+
+    //if it is attribute value, validate the schema
+    attributeValueValidationUtil.validateAttributeValueField(validationPlan::isAttributeValue, valuesReporter.getAttributeValueFields(), handler);
+  }
+
   public void validateTextField(String value, ValueConstraints valueConstraint, Consumer<ValidationResult> handler, String path){
     var textConstraint = valueConstraint.asTextValueConstraints();
+    validateTextField(value, textConstraint.regex().orElse(null), textConstraint.minLength().orElse(0), textConstraint.maxLength().orElse(Integer.MAX_VALUE), handler, path);
+  }
+
+  public void validateTextField(String value, String regex, int minLength, int maxLength, Consumer<ValidationResult> handler, String path){
+    validateTextField(value, regex != null ? textFieldValidationUtil.getPattern(regex) : null, minLength, maxLength, handler, path);
+  }
+
+  public void validateTextField(String value, Pattern regex, int minLength, int maxLength, Consumer<ValidationResult> handler, String path){
     //validate regex
-    if(!textFieldValidationUtil.matchRegex(textConstraint.regex(), value)){
-      String message = String.format("\"%s\" does not follow the regex (%s)", value, textConstraint.regex().orElse("")) + " at " + path;
+    if(regex != null && !regex.matcher(value).matches()){
+      String message = String.format("\"%s\" does not follow the regex (%s)", value, regex.pattern()) + " at " + path;
       handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, message, path));
     }
     //validate length range
     var length = value.length();
-    if(!textFieldValidationUtil.lengthIsInRange(textConstraint.minLength(), textConstraint.maxLength(), length)){
-      String message = String.format("Input string length (%d) is out of range [%d, %d]", length, textConstraint.minLength().orElse(0), textConstraint.maxLength().orElse(Integer.MAX_VALUE)) + " at " + path;
+    if(length < minLength || length > maxLength){
+      String message = String.format("Input string length (%d) is out of range [%d, %d]", length, minLength, maxLength) + " at " + path;
       handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, message, path));
     }
   }
@@ -123,6 +156,13 @@ public class DataTypeValidatorComponent {
       }
   }
 
+  public void validateLiterals(String value, Set<String> literalLabels, Consumer<ValidationResult> handler, String path){
+    if(!textFieldValidationUtil.validLiteral(literalLabels, value)){
+      String message = String.format("Provided value \"%s\" does not exist in the given list", value) + " at " + path;
+      handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, message, path));
+    }
+  }
+
   public void validateNumericField(String value, List<URI> type, ValueConstraints valueConstraint, Consumer<ValidationResult> handler, String path) {
     var numericConstraint = valueConstraint.asNumericValueConstraints();
     //validate it's a valid number
@@ -247,11 +287,7 @@ public class DataTypeValidatorComponent {
   }
 
   public void validateEmailField(String value, Consumer<ValidationResult> handler, String path){
-    String email_regex =
-        "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-    Pattern email_pattern = Pattern.compile(email_regex);
-    Matcher matcher = email_pattern.matcher(value);
-    if(!matcher.matches()){
+    if(!EMAIL_PATTERN.matcher(value).matches()){
       String message = String.format("Input value \"%s\" is not a valid email", value) + " at " + path;
       handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, message, path));
     }
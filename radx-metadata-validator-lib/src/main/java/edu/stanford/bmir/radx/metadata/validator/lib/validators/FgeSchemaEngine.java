@@ -0,0 +1,53 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import edu.stanford.bmir.radx.metadata.validator.lib.SchemaProcessingException;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationLevel;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationName;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationResult;
+
+import java.util.function.Consumer;
+
+/**
+ * A {@link SchemaEngine} backed by the java-json-tools (fge) JSON schema validator.
+ */
+public class FgeSchemaEngine implements SchemaEngine {
+  private static final String SCHEMA = "schema";
+  private static final String POINTER = "pointer";
+  private final JsonSchemaFactory jsonSchemaFactory = JsonSchemaFactory.byDefault();
+
+  @Override
+  public CompiledSchema compile(JsonNode schema) {
+    try {
+      var jsonSchema = jsonSchemaFactory.getJsonSchema(schema);
+      return (instance, handler) -> validate(jsonSchema, instance, handler);
+    } catch (ProcessingException e) {
+      throw new SchemaProcessingException(e.getMessage(), e);
+    }
+  }
+
+  private void validate(JsonSchema jsonSchema, JsonNode instance, Consumer<ValidationResult> handler) {
+    try {
+      parseProcessingReportMessages(jsonSchema.validate(instance), handler);
+    } catch (ProcessingException e) {
+      throw new SchemaProcessingException(e.getMessage(), e);
+    }
+  }
+
+  private void parseProcessingReportMessages(ProcessingReport report, Consumer<ValidationResult> handler){
+    for (ProcessingMessage message : report) {
+      if (message.getLogLevel() == LogLevel.ERROR) {
+        var schemaNode = message.asJson().path(SCHEMA);
+        var pointer = SchemaPointers.normalizePointer(schemaNode.path(POINTER).asText());
+        var errorMessage = message.getMessage() + " at " + pointer;
+        handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, errorMessage, pointer));
+      }
+    }
+  }
+}
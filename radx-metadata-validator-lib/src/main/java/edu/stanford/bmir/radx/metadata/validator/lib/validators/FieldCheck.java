@@ -0,0 +1,17 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.FieldValues;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationResult;
+
+import java.util.function.Consumer;
+
+/**
+ * The data type checks of a single template field, with the field's constraints already resolved.
+ */
+@FunctionalInterface
+public interface FieldCheck {
+  FieldCheck NONE = (fieldValues, handler, path) -> {
+  };
+
+  void check(FieldValues fieldValues, Consumer<ValidationResult> handler, String path);
+}
@@ -0,0 +1,156 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+import org.metadatacenter.artifacts.model.core.ChildSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.ElementInstanceArtifact;
+import org.metadatacenter.artifacts.model.core.FieldInstanceArtifact;
+import org.metadatacenter.artifacts.model.core.InstanceArtifactVisitor;
+import org.metadatacenter.artifacts.model.core.TemplateInstanceArtifact;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Runs the required field, data type and cardinality validation in a single walk over the instance, using the
+ * checks of a compiled {@link ValidationPlan}. It reports the same results as running
+ * {@link RequiredFieldValidatorComponent}, {@link DataTypeValidatorComponent} and
+ * {@link CardinalityValidatorComponent} over a {@link TemplateInstanceValuesReporter}, without first building the
+ * reporter's maps.
+ */
+@Component
+public class FusedInstanceValidatorComponent {
+  private final RequiredFieldValidatorComponent requiredFieldValidatorComponent;
+  private final CardinalityValidatorComponent cardinalityValidatorComponent;
+  private final AttributeValueValidationUtil attributeValueValidationUtil;
+
+  public FusedInstanceValidatorComponent(RequiredFieldValidatorComponent requiredFieldValidatorComponent,
+                                         @Qualifier("MetadataCardinalityValidatorComponent") CardinalityValidatorComponent cardinalityValidatorComponent,
+                                         AttributeValueValidationUtil attributeValueValidationUtil) {
+    this.requiredFieldValidatorComponent = requiredFieldValidatorComponent;
+    this.cardinalityValidatorComponent = cardinalityValidatorComponent;
+    this.attributeValueValidationUtil = attributeValueValidationUtil;
+  }
+
+  /**
+   * Validates the instance and returns the values of the fields at {@code capturedPaths}, for validators that
+   * need specific values after the walk.
+   */
+  public Map<String, FieldValues> validate(ValidationPlan validationPlan, List<String> requiredFields, TemplateInstanceArtifact templateInstanceArtifact,
+                                           Set<String> capturedPaths, Consumer<ValidationResult> handler){
+    return validate(validationPlan, requiredFields, templateInstanceArtifact, capturedPaths, path -> true, handler);
+  }
+
+  /**
+   * Validates the instance, but only runs the data type checks of the fields whose instance paths match
+   * {@code dataTypeChecked}. The required field and cardinality checks always cover the whole instance.
+   */
+  public Map<String, FieldValues> validate(ValidationPlan validationPlan, List<String> requiredFields, TemplateInstanceArtifact templateInstanceArtifact,
+                                           Set<String> capturedPaths, Predicate<String> dataTypeChecked, Consumer<ValidationResult> handler){
+    var visitor = new ValidationVisitor(validationPlan, capturedPaths, dataTypeChecked, handler);
+    templateInstanceArtifact.accept(visitor);
+    var pathTable = validationPlan.getPathTable();
+    requiredFieldValidatorComponent.validateMissingRequiredFields(requiredFields, path -> {
+      int pathId = pathTable.getId(path);
+      return pathId != SchemaPathTable.UNKNOWN && visitor.filledFields.get(pathId);
+    }, handler);
+    return visitor.capturedValues;
+  }
+
+  private class ValidationVisitor implements InstanceArtifactVisitor {
+    private final ValidationPlan validationPlan;
+    private final SchemaPathTable pathTable;
+    private final Set<String> capturedPaths;
+    private final Predicate<String> dataTypeChecked;
+    private final Consumer<ValidationResult> handler;
+    private final BitSet filledFields;
+    private final Map<String, FieldValues> capturedValues = new HashMap<>();
+
+    private ValidationVisitor(ValidationPlan validationPlan, Set<String> capturedPaths, Predicate<String> dataTypeChecked, Consumer<ValidationResult> handler) {
+      this.validationPlan = validationPlan;
+      this.pathTable = validationPlan.getPathTable();
+      this.capturedPaths = capturedPaths;
+      this.dataTypeChecked = dataTypeChecked;
+      this.handler = handler;
+      this.filledFields = new BitSet(pathTable.size());
+    }
+
+    @Override
+    public void visitTemplateInstanceArtifact(TemplateInstanceArtifact templateInstanceArtifact) {
+      checkElementCardinalities(templateInstanceArtifact.multiInstanceElementInstances(), templateInstanceArtifact.singleInstanceElementInstances(), SchemaPathTable.ROOT, "");
+      checkFieldCardinalities(templateInstanceArtifact.multiInstanceFieldInstances(), templateInstanceArtifact.singleInstanceFieldInstances(), SchemaPathTable.ROOT, "");
+    }
+
+    @Override
+    public void visitElementInstanceArtifact(ElementInstanceArtifact elementInstanceArtifact, String path) {
+      int pathId = pathTable.getId(path);
+      checkElementCardinalities(elementInstanceArtifact.multiInstanceElementInstances(), elementInstanceArtifact.singleInstanceElementInstances(), pathId, path);
+      checkFieldCardinalities(elementInstanceArtifact.multiInstanceFieldInstances(), elementInstanceArtifact.singleInstanceFieldInstances(), pathId, path);
+    }
+
+    @Override
+    public void visitFieldInstanceArtifact(FieldInstanceArtifact fieldInstanceArtifact, String path) {
+      var fieldValues = toFieldValues(fieldInstanceArtifact);
+      int pathId = pathTable.getId(path);
+      if (pathId != SchemaPathTable.UNKNOWN) {
+        filledFields.set(pathId);
+      }
+      validationPlan.getRequiredCheck(pathId).check(fieldValues, handler, path);
+      if (dataTypeChecked.test(path)) {
+        validationPlan.getFieldCheck(pathId).check(fieldValues, handler, path);
+      }
+      if (capturedPaths.contains(path)) {
+        capturedValues.put(path, fieldValues);
+      }
+    }
+
+    @Override
+    public void visitAttributeValueFieldInstanceArtifact(FieldInstanceArtifact fieldInstanceArtifact, String path, String specificationPath) {
+      if (!dataTypeChecked.test(path)) {
+        return;
+      }
+      var attributeValueFieldValues = new AttributeValueFieldValues(path, specificationPath, toFieldValues(fieldInstanceArtifact));
+      attributeValueValidationUtil.validateAttributeValueField(validationPlan::isAttributeValue, attributeValueFieldValues, handler);
+    }
+
+    private void checkFieldCardinalities(Map<String, List<FieldInstanceArtifact>> multiFieldInstances, Map<String, FieldInstanceArtifact> singleFieldInstances, int parentId, String path) {
+      for (Map.Entry<String, List<FieldInstanceArtifact>> entry : multiFieldInstances.entrySet()) {
+        checkCardinality(validationPlan.getFieldSchema(pathTable.getChildId(parentId, entry.getKey())), entry.getValue().size(), path, entry.getKey());
+      }
+      for (String fieldName : singleFieldInstances.keySet()) {
+        checkCardinality(validationPlan.getFieldSchema(pathTable.getChildId(parentId, fieldName)), 1, path, fieldName);
+      }
+    }
+
+    private void checkElementCardinalities(Map<String, List<ElementInstanceArtifact>> multiElementInstances, Map<String, ElementInstanceArtifact> singleElementInstances, int parentId, String path) {
+      for (Map.Entry<String, List<ElementInstanceArtifact>> entry : multiElementInstances.entrySet()) {
+        checkCardinality(validationPlan.getElementSchema(pathTable.getChildId(parentId, entry.getKey())), entry.getValue().size(), path, entry.getKey());
+      }
+      for (String elementName : singleElementInstances.keySet()) {
+        checkCardinality(validationPlan.getElementSchema(pathTable.getChildId(parentId, elementName)), 1, path, elementName);
+      }
+    }
+
+    /**
+     * Checks the cardinality of a child. The path of the child is only built when a result is reported.
+     */
+    private void checkCardinality(ChildSchemaArtifact schemaArtifact, int size, String parentPath, String name) {
+      if (schemaArtifact != null && !cardinalityValidatorComponent.hasValidCardinality(schemaArtifact, size)) {
+        cardinalityValidatorComponent.checkCardinality(schemaArtifact, size, handler, parentPath + "/" + name);
+      }
+    }
+
+    private FieldValues toFieldValues(FieldInstanceArtifact fieldInstanceArtifact) {
+      return new FieldValues(fieldInstanceArtifact.jsonLdTypes(),
+          fieldInstanceArtifact.jsonLdId(),
+          fieldInstanceArtifact.jsonLdValue(),
+          fieldInstanceArtifact.label());
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.SpecVersionDetector;
+import com.networknt.schema.ValidationMessage;
+import edu.stanford.bmir.radx.metadata.validator.lib.SchemaProcessingException;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationLevel;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationName;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationResult;
+
+/**
+ * A {@link SchemaEngine} backed by the networknt JSON schema validator. Schemas that do not declare a supported
+ * {@code $schema} are treated as draft-04, which is the draft CEDAR templates are written in.
+ */
+public class NetworkntSchemaEngine implements SchemaEngine {
+  private static final String SCHEMA_PATH_ROOT = "#";
+
+  @Override
+  public CompiledSchema compile(JsonNode schema) {
+    try {
+      var jsonSchemaFactory = JsonSchemaFactory.getInstance(detectVersion(schema));
+      var jsonSchema = jsonSchemaFactory.getSchema(schema);
+      jsonSchema.initializeValidators();
+      return (instance, handler) -> {
+        for (ValidationMessage message : jsonSchema.validate(instance)) {
+          var pointer = SchemaPointers.normalizePointer(toSchemaPointer(message.getSchemaPath()));
+          var errorMessage = message.getMessage() + " at " + pointer;
+          handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, errorMessage, pointer));
+        }
+      };
+    } catch (JsonSchemaException e) {
+      throw new SchemaProcessingException(e.getMessage(), e);
+    }
+  }
+
+  private SpecVersion.VersionFlag detectVersion(JsonNode schema) {
+    try {
+      return SpecVersionDetector.detectOptionalVersion(schema).orElse(SpecVersion.VersionFlag.V4);
+    } catch (JsonSchemaException e) {
+      return SpecVersion.VersionFlag.V4;
+    }
+  }
+
+  /**
+   * networknt reports the schema location as {@code #/path/to/subschema/keyword}, whereas fge reports the
+   * subschema only. The fragment marker and the keyword are dropped so both engines agree.
+   */
+  private static String toSchemaPointer(String schemaPath) {
+    var pointer = schemaPath.startsWith(SCHEMA_PATH_ROOT) ? schemaPath.substring(SCHEMA_PATH_ROOT.length()) : schemaPath;
+    int lastSeparator = pointer.lastIndexOf('/');
+    return lastSeparator >= 0 ? pointer.substring(0, lastSeparator) : "";
+  }
+}
@@ -4,13 +4,31 @@ import com.fasterxml.jackson.core.JsonPointer;
 import edu.stanford.bmir.radx.metadata.validator.lib.*;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Component
 public class RadxPrecisionValidatorComponent {
+  private static final Set<String> FIELD_PATHS = Arrays.stream(RADxSpecificFieldPath.values())
+      .map(p -> p.getFieldPath().getPath())
+      .collect(Collectors.toUnmodifiableSet());
+
+  /**
+   * The paths of the fields whose values this component checks.
+   */
+  public Set<String> getFieldPaths(){
+    return FIELD_PATHS;
+  }
+
   public void validate(LiteralFieldValidators literalFieldValidators, TemplateInstanceValuesReporter valuesReporter, Consumer<ValidationResult> handler){
-    var values = valuesReporter.getValues();
+    validate(literalFieldValidators, valuesReporter.getValues(), handler);
+  }
+
+  public void validate(LiteralFieldValidators literalFieldValidators, Map<String, FieldValues> values, Consumer<ValidationResult> handler){
     var sha256DigestFieldPath = RADxSpecificFieldPath.SHA256_DIGEST.getFieldPath();
     var sha256DigestValidator = literalFieldValidators.getValidator(sha256DigestFieldPath);
     if(sha256DigestValidator.isPresent()){
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Component
 public class RequiredFieldValidatorComponent {
@@ -16,7 +17,10 @@ public class RequiredFieldValidatorComponent {
   public void validate(TemplateSchemaArtifact templateSchemaArtifact, TemplateReporter templateReporter, TemplateInstanceValuesReporter valuesReporter, Consumer<ValidationResult> handler){
     //literate template schema and get all required fields
     var requiredFields = getAllRequiredFields(templateSchemaArtifact, templateReporter);
+    validate(requiredFields, templateReporter, valuesReporter, handler);
+  }
 
+  public void validate(List<String> requiredFields, TemplateReporter templateReporter, TemplateInstanceValuesReporter valuesReporter, Consumer<ValidationResult> handler){
     //literate values report and check filled required fields.
     var checkedRequiredFields = new HashSet<String>();
     var values = valuesReporter.getValues();
@@ -27,48 +31,62 @@ public class RequiredFieldValidatorComponent {
     }
 
     //add error message to unfilled required fields.
-    for(var fieldPath: requiredFields){
-      if(!checkedRequiredFields.contains(fieldPath)){
-        String errorMessage = "Missing required value at " + fieldPath;
-        handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage, fieldPath));
-      }
-    }
+    validateMissingRequiredFields(requiredFields, checkedRequiredFields, handler);
   }
 
   private void validateSingleField(String path, FieldValues fieldValues, TemplateReporter templateReporter, Consumer<ValidationResult> handler){
+    var valueConstraint = templateReporter.getValueConstraints(path);
+    valueConstraint.ifPresent(valueConstraints -> validateRequiredValue(valueConstraints, fieldValues, handler, path));
+  }
+
+  public void validateRequiredValue(ValueConstraints valueConstraint, FieldValues fieldValues, Consumer<ValidationResult> handler, String path){
     var jsonLdValue = fieldValues.jsonLdValue();
     var jsonLdId = fieldValues.jsonLdId();
     var jsonLdLabel = fieldValues.label();
-    var valueConstraint = templateReporter.getValueConstraints(path);
 
-    if(valueConstraint.isPresent()){
-      if(valueConstraint.get().requiredValue()){
-        String errorMessage = "Missing required value at " + path;
-        // If it is link type, check @id
-        if (valueConstraint.get().isLinkValueConstraint()){
-          if(jsonLdId.isEmpty() || jsonLdId.get().toString().equals("")){
-            handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage, path));
-          }
-        } else if (valueConstraint.get().isControlledTermValueConstraint()){//if it is controlled term, check @label and @id
-          if (jsonLdLabel.isEmpty() || jsonLdLabel.get().equals("")){
-            var errorMessage2 = "rdfs:label is missing" + " at " + path;
-            handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage2, path));
-          }
-          if (jsonLdId.isEmpty() || jsonLdId.get().toString().equals("")){
-            var errorMessage3 = "@id is missing" + " at " + path;
-            handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage3, path));
-          }
-        } else {
-          //For others, check @value
-          if (jsonLdValue.isEmpty() || jsonLdValue.get().equals("")){
-            handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage, path));
-          }
+    if(valueConstraint.requiredValue()){
+      String errorMessage = "Missing required value at " + path;
+      // If it is link type, check @id
+      if (valueConstraint.isLinkValueConstraint()){
+        if(jsonLdId.isEmpty() || jsonLdId.get().toString().equals("")){
+          handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage, path));
+        }
+      } else if (valueConstraint.isControlledTermValueConstraint()){//if it is controlled term, check @label and @id
+        if (jsonLdLabel.isEmpty() || jsonLdLabel.get().equals("")){
+          var errorMessage2 = "rdfs:label is missing" + " at " + path;
+          handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage2, path));
         }
+        if (jsonLdId.isEmpty() || jsonLdId.get().toString().equals("")){
+          var errorMessage3 = "@id is missing" + " at " + path;
+          handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage3, path));
+        }
+      } else {
+        //For others, check @value
+        if (jsonLdValue.isEmpty() || jsonLdValue.get().equals("")){
+          handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage, path));
+        }
+      }
+    }
+  }
+
+  /**
+   * Reports every required field that is not in the given set of filled field paths. Paths must have their
+   * array indices removed.
+   */
+  public void validateMissingRequiredFields(List<String> requiredFields, Set<String> filledFields, Consumer<ValidationResult> handler){
+    validateMissingRequiredFields(requiredFields, filledFields::contains, handler);
+  }
+
+  public void validateMissingRequiredFields(List<String> requiredFields, Predicate<String> isFilled, Consumer<ValidationResult> handler){
+    for(var fieldPath: requiredFields){
+      if(!isFilled.test(fieldPath)){
+        String errorMessage = "Missing required value at " + fieldPath;
+        handler.accept(new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, errorMessage, fieldPath));
       }
     }
   }
 
-  private List<String> getAllRequiredFields(TemplateSchemaArtifact templateSchemaArtifact, TemplateReporter templateReporter){
+  public List<String> getAllRequiredFields(TemplateSchemaArtifact templateSchemaArtifact, TemplateReporter templateReporter){
     var requiredFields = new ArrayList<String>();
     var allFields = fieldsCollector.getAllFields(templateSchemaArtifact);
     for(var field:allFields){
@@ -85,6 +103,6 @@ public class RequiredFieldValidatorComponent {
   }
 
   private String normalizePath(String path){
-    return path.replaceAll("\\[\\d+\\]", "");
+    return ValidationPlan.normalizePath(path);
   }
 }
@@ -0,0 +1,16 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A JSON Schema implementation that compiles a template's JSON schema once so that it can be used to validate
+ * many instances.
+ */
+public interface SchemaEngine {
+  /**
+   * Compiles the given JSON schema.
+   *
+   * @throws edu.stanford.bmir.radx.metadata.validator.lib.SchemaProcessingException if the schema cannot be compiled.
+   */
+  CompiledSchema compile(JsonNode schema);
+}
@@ -0,0 +1,19 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import java.util.Locale;
+
+public enum SchemaEngineType {
+  FGE,
+  NETWORKNT;
+
+  public SchemaEngine createEngine() {
+    return switch (this) {
+      case FGE -> new FgeSchemaEngine();
+      case NETWORKNT -> new NetworkntSchemaEngine();
+    };
+  }
+
+  public static SchemaEngineType fromName(String name) {
+    return SchemaEngineType.valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+}
@@ -0,0 +1,100 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives every field and element path of a template an int id. The root of the template has the id
+ * {@link #ROOT}. The ids of the children of a path can be looked up by child name, so a walk over an instance can
+ * follow ids without concatenating paths; the string path of an id is only needed when a result is reported.
+ */
+public class SchemaPathTable {
+  public static final int ROOT = 0;
+  public static final int UNKNOWN = -1;
+
+  private final Map<String, Integer> ids;
+  private final String[] paths;
+  private final List<Map<String, Integer>> children;
+
+  private SchemaPathTable(Map<String, Integer> ids, String[] paths, List<Map<String, Integer>> children) {
+    this.ids = ids;
+    this.paths = paths;
+    this.children = children;
+  }
+
+  /**
+   * Returns the id of an instance path, ignoring array indices, or {@link #UNKNOWN} if the template has no such
+   * path.
+   */
+  public int getId(String path) {
+    var id = ids.get(ValidationPlan.normalizePath(path));
+    return id != null ? id : UNKNOWN;
+  }
+
+  /**
+   * Returns the id of the child with the given name, or {@link #UNKNOWN} if the parent is unknown or has no such
+   * child.
+   */
+  public int getChildId(int parentId, String name) {
+    if (parentId == UNKNOWN) {
+      return UNKNOWN;
+    }
+    var id = children.get(parentId).get(name);
+    return id != null ? id : UNKNOWN;
+  }
+
+  /**
+   * Returns the template path of an id, without array indices.
+   */
+  public String getPath(int id) {
+    return paths[id];
+  }
+
+  public int size() {
+    return paths.length;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  static class Builder {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> paths = new ArrayList<>();
+    private final List<Map<String, Integer>> children = new ArrayList<>();
+
+    private Builder() {
+      ids.put("", ROOT);
+      paths.add("");
+      children.add(new HashMap<>());
+    }
+
+    /**
+     * Adds the child path and returns its id. Adding the same child twice returns the same id.
+     */
+    int add(int parentId, String name) {
+      var siblings = children.get(parentId);
+      var existingId = siblings.get(name);
+      if (existingId != null) {
+        return existingId;
+      }
+      var path = paths.get(parentId) + "/" + name;
+      int id = paths.size();
+      ids.put(path, id);
+      paths.add(path);
+      children.add(new HashMap<>());
+      siblings.put(name, id);
+      return id;
+    }
+
+    SchemaPathTable build() {
+      var childMaps = new ArrayList<Map<String, Integer>>(children.size());
+      for (var siblings : children) {
+        childMaps.add(siblings.isEmpty() ? Map.of() : Map.copyOf(siblings));
+      }
+      return new SchemaPathTable(Map.copyOf(ids), paths.toArray(new String[0]), childMaps);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+class SchemaPointers {
+  private static final String[] COMBINATORS = {"/oneOf/", "/anyOf/", "/allOf/"};
+
+  private SchemaPointers() {
+  }
+
+  /**
+   * Turns a JSON pointer into the template schema into a path in terms of template fields and elements.
+   * Violations inside {@code oneOf}, {@code anyOf} and {@code allOf} subschemas are reported at the
+   * schema that declares the combinator.
+   */
+  static String normalizePointer(String pointer){
+    pointer = pointer.trim();
+    for (var combinator : COMBINATORS) {
+      int index = pointer.indexOf(combinator);
+      if (index >= 0) {
+        pointer = pointer.substring(0, index);
+      }
+    }
+    return pointer.replace("/items", "").replace("/properties", "");
+  }
+}
@@ -0,0 +1,131 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import org.metadatacenter.artifacts.model.core.ChildSchemaArtifact;
+
+import java.util.BitSet;
+
+/**
+ * The per-field checks of a template, indexed by the ids of a {@link SchemaPathTable}. A plan is compiled once
+ * per template, so validating a value only takes an id lookup and a call to the field's {@link FieldCheck}.
+ * Paths that are not in the template have no checks.
+ */
+public class ValidationPlan {
+  private final SchemaPathTable pathTable;
+  private final FieldCheck[] dataTypeChecks;
+  private final FieldCheck[] requiredChecks;
+  private final BitSet attributeValueFields;
+  private final ChildSchemaArtifact[] fieldSchemas;
+  private final ChildSchemaArtifact[] elementSchemas;
+
+  ValidationPlan(SchemaPathTable pathTable,
+                 FieldCheck[] dataTypeChecks,
+                 FieldCheck[] requiredChecks,
+                 BitSet attributeValueFields,
+                 ChildSchemaArtifact[] fieldSchemas,
+                 ChildSchemaArtifact[] elementSchemas) {
+    this.pathTable = pathTable;
+    this.dataTypeChecks = dataTypeChecks;
+    this.requiredChecks = requiredChecks;
+    this.attributeValueFields = attributeValueFields;
+    this.fieldSchemas = fieldSchemas;
+    this.elementSchemas = elementSchemas;
+  }
+
+  public SchemaPathTable getPathTable() {
+    return pathTable;
+  }
+
+  /**
+   * Returns the data type checks of the field at the given instance path, or {@link FieldCheck#NONE} if the
+   * template has no such field.
+   */
+  public FieldCheck getFieldCheck(String path) {
+    return getFieldCheck(pathTable.getId(path));
+  }
+
+  public FieldCheck getFieldCheck(int pathId) {
+    var fieldCheck = pathId != SchemaPathTable.UNKNOWN ? dataTypeChecks[pathId] : null;
+    return fieldCheck != null ? fieldCheck : FieldCheck.NONE;
+  }
+
+  /**
+   * Returns the check that a required field at the given instance path has a value, or {@link FieldCheck#NONE}
+   * if the field does not require a value.
+   */
+  public FieldCheck getRequiredCheck(String path) {
+    return getRequiredCheck(pathTable.getId(path));
+  }
+
+  public FieldCheck getRequiredCheck(int pathId) {
+    var requiredCheck = pathId != SchemaPathTable.UNKNOWN ? requiredChecks[pathId] : null;
+    return requiredCheck != null ? requiredCheck : FieldCheck.NONE;
+  }
+
+  public boolean isAttributeValue(String specificationPath) {
+    int pathId = pathTable.getId(specificationPath);
+    return pathId != SchemaPathTable.UNKNOWN && attributeValueFields.get(pathId);
+  }
+
+  /**
+   * Returns the schema of the field at the given path, or null if the template has no such field.
+   */
+  public ChildSchemaArtifact getFieldSchema(String path) {
+    return getFieldSchema(pathTable.getId(path));
+  }
+
+  public ChildSchemaArtifact getFieldSchema(int pathId) {
+    return pathId != SchemaPathTable.UNKNOWN ? fieldSchemas[pathId] : null;
+  }
+
+  /**
+   * Returns the schema of the element at the given path, or null if the template has no such element.
+   */
+  public ChildSchemaArtifact getElementSchema(String path) {
+    return getElementSchema(pathTable.getId(path));
+  }
+
+  public ChildSchemaArtifact getElementSchema(int pathId) {
+    return pathId != SchemaPathTable.UNKNOWN ? elementSchemas[pathId] : null;
+  }
+
+  /**
+   * Returns the number of fields with data type checks.
+   */
+  public int size() {
+    int size = 0;
+    for (var fieldCheck : dataTypeChecks) {
+      if (fieldCheck != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes array indices such as {@code [0]} from an instance path.
+   */
+  public static String normalizePath(String path) {
+    int bracket = path.indexOf('[');
+    if (bracket < 0) {
+      return path;
+    }
+    var normalizedPath = new StringBuilder(path.length());
+    int i = 0;
+    while (i < path.length()) {
+      char c = path.charAt(i);
+      if (c == '[') {
+        int j = i + 1;
+        while (j < path.length() && Character.isDigit(path.charAt(j))) {
+          j++;
+        }
+        if (j > i + 1 && j < path.length() && path.charAt(j) == ']') {
+          i = j + 1;
+          continue;
+        }
+      }
+      normalizedPath.append(c);
+      i++;
+    }
+    return normalizedPath.toString();
+  }
+}
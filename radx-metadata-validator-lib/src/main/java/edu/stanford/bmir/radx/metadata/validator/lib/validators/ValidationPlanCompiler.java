@@ -0,0 +1,201 @@
+package edu.stanford.bmir.radx.metadata.validator.lib.validators;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.FieldSchemaValidationHelper;
+import edu.stanford.bmir.radx.metadata.validator.lib.LiteralLabelIndex;
+import org.metadatacenter.artifacts.model.core.ChildSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.ParentSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.TemplateSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.fields.FieldInputType;
+import org.metadatacenter.artifacts.model.visitors.TemplateReporter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles a template into a {@link ValidationPlan}. The checks mirror {@link DataTypeValidatorComponent} and
+ * {@link RequiredFieldValidatorComponent}, so a plan reports exactly the same results.
+ */
+@Component
+public class ValidationPlanCompiler {
+  private final DataTypeValidatorComponent dataTypeValidatorComponent;
+  private final FieldSchemaValidationHelper fieldSchemaValidationHelper;
+  private final RequiredFieldValidatorComponent requiredFieldValidatorComponent;
+
+  public ValidationPlanCompiler(DataTypeValidatorComponent dataTypeValidatorComponent, FieldSchemaValidationHelper fieldSchemaValidationHelper, RequiredFieldValidatorComponent requiredFieldValidatorComponent) {
+    this.dataTypeValidatorComponent = dataTypeValidatorComponent;
+    this.fieldSchemaValidationHelper = fieldSchemaValidationHelper;
+    this.requiredFieldValidatorComponent = requiredFieldValidatorComponent;
+  }
+
+  public ValidationPlan compile(TemplateSchemaArtifact templateSchemaArtifact, TemplateReporter templateReporter, LiteralLabelIndex literalLabelIndex) {
+    var pathTableBuilder = SchemaPathTable.builder();
+    var entries = new ArrayList<PathEntry>();
+    collectPaths(templateSchemaArtifact, SchemaPathTable.ROOT, "", templateReporter, literalLabelIndex, pathTableBuilder, entries);
+    var pathTable = pathTableBuilder.build();
+
+    int size = pathTable.size();
+    var dataTypeChecks = new FieldCheck[size];
+    var requiredChecks = new FieldCheck[size];
+    var attributeValueFields = new BitSet(size);
+    var fieldSchemas = new ChildSchemaArtifact[size];
+    var elementSchemas = new ChildSchemaArtifact[size];
+    for (var entry : entries) {
+      dataTypeChecks[entry.id()] = entry.dataTypeCheck();
+      requiredChecks[entry.id()] = entry.requiredCheck();
+      attributeValueFields.set(entry.id(), entry.attributeValue());
+      fieldSchemas[entry.id()] = entry.fieldSchema();
+      elementSchemas[entry.id()] = entry.elementSchema();
+    }
+    return new ValidationPlan(pathTable, dataTypeChecks, requiredChecks, attributeValueFields, fieldSchemas, elementSchemas);
+  }
+
+  private void collectPaths(ParentSchemaArtifact parentSchemaArtifact, int parentId, String parentPath, TemplateReporter templateReporter,
+                            LiteralLabelIndex literalLabelIndex, SchemaPathTable.Builder pathTableBuilder, List<PathEntry> entries) {
+    for (var fieldName : parentSchemaArtifact.getFieldNames()) {
+      var path = parentPath + "/" + fieldName;
+      entries.add(new PathEntry(pathTableBuilder.add(parentId, fieldName),
+          compileFieldCheck(templateReporter, path, literalLabelIndex),
+          compileRequiredCheck(templateReporter, path),
+          isAttributeValue(templateReporter, path),
+          templateReporter.getFieldSchema(path).orElse(null),
+          null));
+    }
+    for (var elementName : parentSchemaArtifact.getElementNames()) {
+      var path = parentPath + "/" + elementName;
+      int id = pathTableBuilder.add(parentId, elementName);
+      entries.add(new PathEntry(id, null, null, false, null, templateReporter.getElementSchema(path).orElse(null)));
+      var elementSchemaArtifact = parentSchemaArtifact.getElementSchemaArtifact(elementName);
+      collectPaths(elementSchemaArtifact, id, path, templateReporter, literalLabelIndex, pathTableBuilder, entries);
+    }
+  }
+
+  private record PathEntry(int id, FieldCheck dataTypeCheck, FieldCheck requiredCheck, boolean attributeValue,
+                           ChildSchemaArtifact fieldSchema, ChildSchemaArtifact elementSchema) {
+  }
+
+  private boolean isAttributeValue(TemplateReporter templateReporter, String path) {
+    return templateReporter.getFieldSchema(path)
+        .map(fieldSchemaArtifact -> fieldSchemaArtifact.fieldUi().isAttributeValue())
+        .orElse(false);
+  }
+
+  /**
+   * Returns the requirement check of the field at the given path, or null if the template has no value
+   * constraints at that path.
+   */
+  private FieldCheck compileRequiredCheck(TemplateReporter templateReporter, String path) {
+    var valueConstraint = templateReporter.getValueConstraints(path);
+    if (valueConstraint.isEmpty()) {
+      return null;
+    }
+    var valueConstraints = valueConstraint.get();
+    if (!valueConstraints.requiredValue()) {
+      return FieldCheck.NONE;
+    }
+    return (fieldValues, handler, instancePath) -> requiredFieldValidatorComponent.validateRequiredValue(valueConstraints, fieldValues, handler, instancePath);
+  }
+
+  /**
+   * Returns the checks of the field at the given path, or null if the template has no field or no value
+   * constraints at that path.
+   */
+  private FieldCheck compileFieldCheck(TemplateReporter templateReporter, String path, LiteralLabelIndex literalLabelIndex) {
+    var fieldSchemaArtifact = templateReporter.getFieldSchema(path);
+    var valueConstraint = templateReporter.getValueConstraints(path);
+    if (fieldSchemaArtifact.isEmpty() || valueConstraint.isEmpty()) {
+      return null;
+    }
+    var fieldInputType = fieldSchemaArtifact.get().fieldUi().inputType();
+    var valueConstraints = valueConstraint.get();
+
+    if (valueConstraints.isControlledTermValueConstraint()) {
+      return (fieldValues, handler, instancePath) -> {
+        fieldSchemaValidationHelper.validateControlledTermField(fieldValues.jsonLdId(), fieldValues.label(), fieldValues.jsonLdValue(), fieldValues.jsonLdTypes(), handler, instancePath);
+        dataTypeValidatorComponent.validateControlledTermsField(fieldValues.jsonLdId(), handler, instancePath);
+      };
+    } else if (fieldInputType == FieldInputType.TEXTFIELD) {
+      var textConstraint = valueConstraints.asTextValueConstraints();
+      var regex = textConstraint.regex().orElse(null);
+      var pattern = compileRegex(regex);
+      int minLength = textConstraint.minLength().orElse(0);
+      int maxLength = textConstraint.maxLength().orElse(Integer.MAX_VALUE);
+      return (fieldValues, handler, instancePath) -> {
+        var value = fieldValues.jsonLdValue();
+        if (value.isPresent()) {
+          fieldSchemaValidationHelper.validateTextField(value, fieldValues.jsonLdId(), fieldValues.label(), fieldValues.jsonLdTypes(), handler, instancePath);
+          if (pattern != null) {
+            dataTypeValidatorComponent.validateTextField(value.get(), pattern, minLength, maxLength, handler, instancePath);
+          } else {
+            dataTypeValidatorComponent.validateTextField(value.get(), regex, minLength, maxLength, handler, instancePath);
+          }
+        }
+      };
+    } else if (fieldInputType == FieldInputType.NUMERIC) {
+      return (fieldValues, handler, instancePath) -> {
+        var value = fieldValues.jsonLdValue();
+        if (value.isPresent()) {
+          fieldSchemaValidationHelper.validateNumericAndTemporalField(fieldValues.jsonLdId(), fieldValues.label(), handler, instancePath);
+          dataTypeValidatorComponent.validateNumericField(value.get(), fieldValues.jsonLdTypes(), valueConstraints, handler, instancePath);
+        }
+      };
+    } else if (fieldInputType == FieldInputType.TEMPORAL) {
+      return (fieldValues, handler, instancePath) -> {
+        var value = fieldValues.jsonLdValue();
+        if (value.isPresent()) {
+          fieldSchemaValidationHelper.validateNumericAndTemporalField(fieldValues.jsonLdId(), fieldValues.label(), handler, instancePath);
+          dataTypeValidatorComponent.validateTemporalField(value.get(), fieldValues.jsonLdTypes(), valueConstraints, handler, instancePath);
+        }
+      };
+    } else if (fieldInputType == FieldInputType.EMAIL) {
+      return (fieldValues, handler, instancePath) -> {
+        var value = fieldValues.jsonLdValue();
+        if (value.isPresent()) {
+          fieldSchemaValidationHelper.validateTextField(value, fieldValues.jsonLdId(), fieldValues.label(), fieldValues.jsonLdTypes(), handler, instancePath);
+          dataTypeValidatorComponent.validateEmailField(value.get(), handler, instancePath);
+        }
+      };
+    } else if (fieldInputType == FieldInputType.LINK) {
+      return (fieldValues, handler, instancePath) -> {
+        var id = fieldValues.jsonLdId();
+        if (id.isPresent()) {
+          fieldSchemaValidationHelper.validateLinkField(id, fieldValues.jsonLdValue(), fieldValues.label(), fieldValues.jsonLdTypes(), handler, instancePath);
+          dataTypeValidatorComponent.validateLinkField(id.get().toString(), handler, instancePath);
+        }
+      };
+    } else if (fieldInputType == FieldInputType.RADIO || fieldInputType == FieldInputType.CHECKBOX || fieldInputType == FieldInputType.LIST) {
+      var literalLabels = literalLabelIndex.getLabels(valueConstraints);
+      return (fieldValues, handler, instancePath) -> {
+        var value = fieldValues.jsonLdValue();
+        if (value.isPresent()) {
+          fieldSchemaValidationHelper.validateTextField(value, fieldValues.jsonLdId(), fieldValues.label(), fieldValues.jsonLdTypes(), handler, instancePath);
+          if (literalLabels != null) {
+            dataTypeValidatorComponent.validateLiterals(value.get(), literalLabels, handler, instancePath);
+          } else {
+            dataTypeValidatorComponent.validateLiterals(value.get(), valueConstraints, handler, instancePath);
+          }
+        }
+      };
+    }
+    return FieldCheck.NONE;
+  }
+
+  /**
+   * Compiles the regular expression of a text field once per plan. Returns null if there is no expression or it is
+   * invalid; an invalid expression is left to fail when a value is matched against it, as in
+   * {@link DataTypeValidatorComponent}.
+   */
+  private static Pattern compileRegex(String regex) {
+    if (regex == null) {
+      return null;
+    }
+    try {
+      return Pattern.compile(regex);
+    } catch (PatternSyntaxException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkInstanceReaderTest {
+
+  private static BulkInstanceReader reader(String content) throws IOException {
+    return new BulkInstanceReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "bulk.json");
+  }
+
+  private static List<JsonNode> readAll(BulkInstanceReader reader) throws IOException {
+    var instances = new ArrayList<JsonNode>();
+    JsonNode instance;
+    while ((instance = reader.next()) != null) {
+      instances.add(instance);
+    }
+    return instances;
+  }
+
+  @Test
+  void testReadsNdjson() throws IOException {
+    try (var reader = reader("{\"a\":1}\n{\"a\":2}\n\n{\"a\":3}\n")) {
+      var instances = readAll(reader);
+
+      assertEquals(3, instances.size());
+      assertEquals(3, instances.get(2).get("a").asInt());
+      assertEquals(3, reader.getNextIndex());
+    }
+  }
+
+  @Test
+  void testReadsTopLevelArray() throws IOException {
+    try (var reader = reader("[{\"a\":{\"b\":[1,2]}}, {\"a\":2}]")) {
+      var instances = readAll(reader);
+
+      assertEquals(2, instances.size());
+      assertEquals(2, instances.get(0).get("a").get("b").size());
+    }
+  }
+
+  @Test
+  void testEmptyInput() throws IOException {
+    try (var reader = reader("")) {
+      assertNull(reader.next());
+    }
+    try (var reader = reader("[]")) {
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  void testInvalidRecordReportsIndex() throws IOException {
+    try (var reader = reader("{\"a\":1}\n{\"a\":}\n{\"a\":3}\n")) {
+      assertNotNull(reader.next());
+      var e = assertThrows(JsonParseException.class, reader::next);
+      assertEquals("Record 1 of bulk.json is not valid JSON.", e.getMessage());
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  void testRecordBeforeGarbageIsReturned() throws IOException {
+    try (var reader = reader("{\"a\":1} x {\"a\":3}")) {
+      assertEquals(1, reader.next().get("a").asInt());
+      var e = assertThrows(JsonParseException.class, reader::next);
+      assertEquals("Record 1 of bulk.json is not valid JSON.", e.getMessage());
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  void testRecordBeforeMissingCommaIsReturned() throws IOException {
+    try (var reader = reader("[{\"a\":1} {\"a\":2}]")) {
+      assertEquals(1, reader.next().get("a").asInt());
+      var e = assertThrows(JsonParseException.class, reader::next);
+      assertEquals("Record 1 of bulk.json is not valid JSON.", e.getMessage());
+    }
+  }
+
+  @Test
+  void testLastRecordOfTruncatedArrayIsReturned() throws IOException {
+    try (var reader = reader("[{\"a\":1},{\"a\":2}")) {
+      assertEquals(1, reader.next().get("a").asInt());
+      assertEquals(2, reader.next().get("a").asInt());
+      var e = assertThrows(JsonParseException.class, reader::next);
+      assertEquals("Record 2 of bulk.json is not valid JSON.", e.getMessage());
+    }
+  }
+
+  @Test
+  void testInvalidStartIsRecordZero() throws IOException {
+    try (var reader = reader("x")) {
+      var e = assertThrows(JsonParseException.class, reader::next);
+      assertEquals("Record 0 of bulk.json is not valid JSON.", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledTemplateCacheTest {
+
+  private CompiledTemplate compiledTemplate(String hash, long weight) {
+    return new CompiledTemplate(hash, weight, null, null, null, null, List.of(), LiteralLabelIndex.EMPTY, null);
+  }
+
+  @Test
+  void testGetCountsHitsAndMisses() {
+    var cache = new CompiledTemplateCache(100);
+    cache.put(compiledTemplate("a", 10));
+
+    assertTrue(cache.get("a").isPresent());
+    assertTrue(cache.get("b").isEmpty());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void testPutEvictsLeastRecentlyUsedWhenOverweight() {
+    var cache = new CompiledTemplateCache(100);
+    cache.put(compiledTemplate("a", 40));
+    cache.put(compiledTemplate("b", 40));
+    cache.get("a");
+    cache.put(compiledTemplate("c", 40));
+
+    assertTrue(cache.get("a").isPresent());
+    assertTrue(cache.get("b").isEmpty());
+    assertTrue(cache.get("c").isPresent());
+    assertEquals(80, cache.getWeight());
+  }
+
+  @Test
+  void testPutIgnoresTemplatesHeavierThanCache() {
+    var cache = new CompiledTemplateCache(100);
+    cache.put(compiledTemplate("a", 101));
+
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getWeight());
+  }
+
+  @Test
+  void testPutReplacesExistingEntryWeight() {
+    var cache = new CompiledTemplateCache(100);
+    cache.put(compiledTemplate("a", 30));
+    cache.put(compiledTemplate("a", 50));
+
+    assertEquals(1, cache.size());
+    assertEquals(50, cache.getWeight());
+  }
+
+  @Test
+  void testGetOrCompileCompilesConcurrentMissesOnce() throws Exception {
+    var cache = new CompiledTemplateCache(100);
+    var compileCount = new AtomicInteger();
+    var started = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var futures = new ArrayList<Future<CompiledTemplate>>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> cache.getOrCompile("a", () -> {
+          compileCount.incrementAndGet();
+          started.countDown();
+          try {
+            Thread.sleep(100);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return compiledTemplate("a", 10);
+        })));
+      }
+      started.await();
+      var first = futures.get(0).get();
+      for (var future : futures) {
+        assertSame(first, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(1, compileCount.get());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testGetOrCompileRethrowsFailures() {
+    var cache = new CompiledTemplateCache(100);
+
+    assertThrows(IllegalStateException.class, () -> cache.getOrCompile("a", () -> {
+      throw new IllegalStateException("invalid template");
+    }));
+    assertSame(cache.getOrCompile("a", () -> compiledTemplate("a", 10)), cache.get("a").get());
+  }
+}
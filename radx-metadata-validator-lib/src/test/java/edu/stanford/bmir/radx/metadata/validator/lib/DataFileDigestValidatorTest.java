@@ -0,0 +1,49 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataFileDigestValidatorTest {
+  private static final JsonPointer FIELD_PATH = JsonPointer.compile(RADxSpecificFieldPath.SHA256_DIGEST.getFieldPath().getPath());
+
+  @Test
+  void testMatchingDigestIgnoresCase() {
+    var validator = new DataFileDigestValidator(Path.of("data.csv"), CompletableFuture.completedFuture("ab12"));
+    var results = new ArrayList<ValidationResult>();
+
+    validator.validate(Optional.of("AB12"), null, null, results::add, FIELD_PATH);
+
+    assertTrue(results.isEmpty());
+  }
+
+  @Test
+  void testDifferentDigestIsAnError() {
+    var validator = new DataFileDigestValidator(Path.of("data.csv"), CompletableFuture.completedFuture("ab12"));
+    var results = new ArrayList<ValidationResult>();
+
+    validator.validate(Optional.of("cd34"), null, null, results::add, FIELD_PATH);
+
+    assertEquals(1, results.size());
+    assertEquals(ValidationLevel.ERROR, results.get(0).validationLevel());
+    assertEquals("Expected SHA256 digest equals to ab12", results.get(0).message());
+  }
+
+  @Test
+  void testMissingDataFileIsAnError() {
+    var validator = new DataFileDigestValidator(Path.of("data.csv"), CompletableFuture.failedFuture(new NoSuchFileException("data.csv")));
+    var results = new ArrayList<ValidationResult>();
+
+    validator.validate(Optional.of("ab12"), null, null, results::add, FIELD_PATH);
+
+    assertEquals(1, results.size());
+    assertEquals("Data file not found: data.csv", results.get(0).message());
+  }
+}
@@ -0,0 +1,44 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataFileHasherTest {
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testDigestMatchesContentHash() throws Exception {
+    var dataFile = tempDir.resolve("data.csv");
+    var content = "id,value\n1,a\n2,b\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+    Files.write(dataFile, content);
+
+    try (var hasher = new DataFileHasher(2)) {
+      assertEquals(ContentHash.sha256(content), hasher.sha256(dataFile).join());
+      assertSame(hasher.sha256(dataFile), hasher.sha256(tempDir.resolve("./data.csv")));
+    }
+  }
+
+  @Test
+  void testEmptyFile() throws Exception {
+    var dataFile = Files.createFile(tempDir.resolve("empty.csv"));
+
+    assertEquals(ContentHash.sha256(new byte[0]), DataFileHasher.computeSha256(dataFile));
+  }
+
+  @Test
+  void testMissingFileFails() {
+    try (var hasher = new DataFileHasher(1)) {
+      var e = assertThrows(CompletionException.class, () -> hasher.sha256(tempDir.resolve("missing.csv")).join());
+      assertInstanceOf(NoSuchFileException.class, e.getCause());
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.DataFileValidatorComponent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataFileValidatorComponentTest {
+  @TempDir
+  Path tempDir;
+
+  private Path dictionary;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dictionary = Files.writeString(tempDir.resolve("data--DICT.csv"),
+        "\uFEFFId,Label,Datatype\nid,Identifier,integer\nscore,Score,decimal\nvisit,Visit date,date\nnote,Note,string\n");
+  }
+
+  private List<ValidationResult> validate(String content, long chunkSize) throws Exception {
+    var dataFile = Files.writeString(tempDir.resolve("data.csv"), content);
+    var results = new ArrayList<ValidationResult>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      new DataFileValidatorComponent(chunkSize).validate(dataFile, dictionary, executor, results::add);
+    } finally {
+      executor.shutdown();
+    }
+    return results;
+  }
+
+  @Test
+  void testValidFile() throws Exception {
+    var content = new StringBuilder("id,score,visit,note\r\n");
+    for (int i = 0; i < 1000; i++) {
+      content.append(i).append(",").append(i * 0.5).append(",2024-01-0").append(i % 9 + 1).append(",\"a, b\"\r\n");
+    }
+
+    assertTrue(validate(content.toString(), 64).isEmpty());
+  }
+
+  @Test
+  void testHeaderMismatch() throws Exception {
+    var results = validate("id,score,extra,extra\n1,2.5,x,y\n", 1024);
+
+    assertEquals(4, results.size());
+    assertTrue(results.stream().allMatch(result -> result.validationName() == ValidationName.DATA_FILE_VALIDATION));
+    assertEquals("extra", results.get(0).pointer());
+    assertEquals("extra", results.get(1).pointer());
+    assertEquals("visit", results.get(2).pointer());
+    assertEquals("note", results.get(3).pointer());
+  }
+
+  @Test
+  void testInvalidValuesAreNumberedAcrossChunks() throws Exception {
+    var content = new StringBuilder("id,score,visit,note\n");
+    for (int i = 1; i <= 100; i++) {
+      content.append(i % 10 == 0 ? "x" + i : String.valueOf(i)).append(",1.5,2024-01-01,\n");
+    }
+
+    var results = validate(content.toString(), 50);
+
+    assertEquals(10, results.size());
+    assertEquals("Value \"x10\" in row 10 of column id is not a valid integer", results.get(0).message());
+    assertEquals("Value \"x100\" in row 100 of column id is not a valid integer", results.get(9).message());
+  }
+
+  @Test
+  void testInvalidValuesAreCapped() throws Exception {
+    var content = new StringBuilder("id,score,visit,note\n");
+    for (int i = 1; i <= 25; i++) {
+      content.append(i).append(",1.5,not a date,\n");
+    }
+
+    var results = validate(content.toString(), 40);
+
+    assertEquals(11, results.size());
+    assertEquals("15 more values of column visit are not a valid date", results.get(10).message());
+  }
+
+  @Test
+  void testMalformedRowsAreNumberedAcrossChunks() throws Exception {
+    var content = new StringBuilder("id,score,visit,note\n");
+    for (int i = 1; i <= 100; i++) {
+      content.append(i).append(i % 25 == 0 ? ",1.5\n" : ",1.5,2024-01-01,\n");
+    }
+
+    var results = validate(content.toString(), 50);
+
+    assertEquals(4, results.size());
+    assertEquals("Row 25 of data file data.csv has 2 values, but the header has 4 columns", results.get(0).message());
+    assertEquals("Row 100 of data file data.csv has 2 values, but the header has 4 columns", results.get(3).message());
+  }
+
+  @Test
+  void testQuotedLineBreaksFallBackToSinglePass() throws Exception {
+    var content = new StringBuilder("id,score,visit,note\n");
+    for (int i = 1; i <= 50; i++) {
+      content.append(i).append(",1.5,2024-01-01,\"first line\nsecond line\"\n");
+    }
+    content.append("51,1.5\n");
+
+    var results = validate(content.toString(), 30);
+
+    assertEquals(1, results.size());
+    assertEquals("Row 51 of data file data.csv has 2 values, but the header has 4 columns", results.get(0).message());
+  }
+}
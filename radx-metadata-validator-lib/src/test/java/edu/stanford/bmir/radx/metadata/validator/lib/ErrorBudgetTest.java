@@ -0,0 +1,41 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorBudgetTest {
+  private final ValidationResult error = new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, "error", "/a");
+  private final ValidationResult warning = new ValidationResult(ValidationLevel.WARNING, ValidationName.SCHEMA_VALIDATION, "warning", "/a");
+
+  @Test
+  void testFailFastStopsAtFirstError() {
+    var budget = new ErrorBudget(ValidationOptions.failFast());
+
+    budget.record(warning);
+    assertThrows(ErrorBudget.ExhaustedException.class, () -> budget.record(error));
+  }
+
+  @Test
+  void testMaxErrorsCountsOnlyErrors() {
+    var budget = new ErrorBudget(new ValidationOptions(2));
+
+    budget.record(error);
+    budget.record(warning);
+    assertThrows(ErrorBudget.ExhaustedException.class, () -> budget.record(error));
+  }
+
+  @Test
+  void testDefaultOptionsNeverStop() {
+    var budget = new ErrorBudget(ValidationOptions.DEFAULT);
+
+    for (int i = 0; i < 1000; i++) {
+      budget.record(error);
+    }
+  }
+
+  @Test
+  void testNegativeMaxErrorsIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new ValidationOptions(-1));
+  }
+}
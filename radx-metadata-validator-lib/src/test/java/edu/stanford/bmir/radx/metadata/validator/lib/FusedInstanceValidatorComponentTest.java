@@ -0,0 +1,87 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.CardinalityValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.DataTypeValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.FusedInstanceValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.RequiredFieldValidatorComponent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.metadatacenter.artifacts.model.reader.JsonSchemaArtifactReader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FusedInstanceValidatorComponentTest {
+  private AnnotationConfigApplicationContext context;
+  private CompiledTemplate compiledTemplate;
+  private ObjectNode instance;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    context = new AnnotationConfigApplicationContext("edu.stanford.bmir.radx.metadata.validator.lib");
+    var templateNode = InstanceFixtures.renderTemplate();
+    var template = JsonLoader.getObjectMapper().writeValueAsBytes(templateNode);
+    compiledTemplate = context.getBean(TemplateCompiler.class).compile(ContentHash.sha256(template), template.length, templateNode);
+    instance = InstanceFixtures.createInstance(templateNode);
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  @Test
+  void testValidInstance() {
+    assertTrue(assertSameResults(edited -> {}).isEmpty());
+  }
+
+  @Test
+  void testInvalidValues() {
+    assertFalse(assertSameResults(edited -> ((ObjectNode) edited.get("Title")).put("@value", "not valid 1")).isEmpty());
+    assertFalse(assertSameResults(edited -> ((ObjectNode) edited.get("Contact").get(1).get("Name")).put("@value", "a name that is longer than twenty")).isEmpty());
+  }
+
+  @Test
+  void testMissingRequiredValue() {
+    assertFalse(assertSameResults(edited -> ((ObjectNode) edited.get("Title")).putNull("@value")).isEmpty());
+  }
+
+  @Test
+  void testArraySizes() {
+    assertSameResults(edited -> ((ArrayNode) edited.get("Keywords")).add(JsonNodeFactory.instance.objectNode().put("@value", "added")));
+    assertSameResults(edited -> ((ArrayNode) edited.get("Keywords")).removeAll());
+    assertSameResults(edited -> ((ArrayNode) edited.get("Contact")).remove(0));
+  }
+
+  /**
+   * Validates an edited copy of the fixture instance with the fused pass and with the required field, data type and
+   * cardinality components, asserts that both report the same results and returns them.
+   */
+  private Set<ValidationResult> assertSameResults(Consumer<ObjectNode> edit) {
+    var edited = instance.deepCopy();
+    edit.accept(edited);
+    var templateInstanceArtifact = new JsonSchemaArtifactReader().readTemplateInstanceArtifact(edited);
+    var valuesReporter = new TemplateInstanceValuesReporter(templateInstanceArtifact);
+    var templateReporter = compiledTemplate.templateReporter();
+
+    var expected = new HashSet<ValidationResult>();
+    context.getBean(RequiredFieldValidatorComponent.class).validate(compiledTemplate.requiredFields(), templateReporter, valuesReporter, expected::add);
+    context.getBean(DataTypeValidatorComponent.class).validate(templateReporter, valuesReporter, expected::add);
+    context.getBean(CardinalityValidatorComponent.class).validate(templateReporter, valuesReporter, expected::add);
+
+    var actual = new HashSet<ValidationResult>();
+    context.getBean(FusedInstanceValidatorComponent.class).validate(compiledTemplate.validationPlan(), compiledTemplate.requiredFields(),
+        templateInstanceArtifact, Set.of(), actual::add);
+
+    assertEquals(expected, actual);
+    return actual;
+  }
+}
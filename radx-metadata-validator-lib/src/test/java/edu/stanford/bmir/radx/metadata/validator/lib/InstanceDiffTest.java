@@ -0,0 +1,61 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstanceDiffTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static JsonNode json(String content) throws Exception {
+    return MAPPER.readTree(content);
+  }
+
+  @Test
+  void testEqualInstancesHaveNoChanges() throws Exception {
+    var instance = "{\"Element\":[{\"Field\":{\"@value\":\"a\"}}],\"schema:name\":\"x\"}";
+    var diff = InstanceDiff.between(json(instance), json(instance));
+
+    assertTrue(diff.isEmpty());
+    assertTrue(diff.isShapePreserved());
+  }
+
+  @Test
+  void testValueChangeIsRecordedAtTheValue() throws Exception {
+    var diff = InstanceDiff.between(json("{\"Element\":[{\"Field\":{\"@value\":\"a\"}},{\"Field\":{\"@value\":\"b\"}}]}"),
+        json("{\"Element\":[{\"Field\":{\"@value\":\"a\"}},{\"Field\":{\"@value\":\"c\"}}]}"));
+
+    assertTrue(diff.isShapePreserved());
+    assertEquals(List.of(JsonPointer.compile("/Element/1/Field/@value")), diff.getChangedPointers());
+    assertTrue(diff.affects("/Element[1]/Field"));
+    assertTrue(diff.affects("/Element"));
+    assertFalse(diff.affects("/Element[0]/Field"));
+    assertFalse(diff.affects("/Element[1]/Field 2"));
+  }
+
+  @Test
+  void testAddedArrayItemChangesShape() throws Exception {
+    var diff = InstanceDiff.between(json("{\"Field\":[{\"@value\":\"a\"}]}"),
+        json("{\"Field\":[{\"@value\":\"a\"},{\"@value\":\"b\"}]}"));
+
+    assertFalse(diff.isShapePreserved());
+    assertEquals(List.of(JsonPointer.compile("/Field/1")), diff.getChangedPointers());
+    assertTrue(diff.affects("/Field[1]"));
+    assertFalse(diff.affects("/Field[0]"));
+  }
+
+  @Test
+  void testChangedKindAndKeysChangeShape() throws Exception {
+    assertFalse(InstanceDiff.between(json("{\"Field\":{\"@value\":\"a\"}}"), json("{\"Field\":{\"@value\":null}}")).isShapePreserved());
+    assertFalse(InstanceDiff.between(json("{\"Field\":{\"@value\":1}}"), json("{\"Field\":{\"@value\":1.5}}")).isShapePreserved());
+
+    var diff = InstanceDiff.between(json("{\"Field\":{\"@value\":\"a\"}}"), json("{\"Field\":{\"@id\":\"a\"}}"));
+    assertFalse(diff.isShapePreserved());
+    assertEquals(List.of(JsonPointer.compile("/Field/@value"), JsonPointer.compile("/Field/@id")), diff.getChangedPointers());
+  }
+}
@@ -0,0 +1,127 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.metadatacenter.artifacts.model.core.ElementSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.TemplateSchemaArtifact;
+import org.metadatacenter.artifacts.model.core.TextField;
+import org.metadatacenter.artifacts.model.renderer.JsonSchemaArtifactRenderer;
+
+import java.net.URI;
+
+/**
+ * A small CEDAR template with a required regex field, a multi-instance field and a multi-instance element, and a
+ * valid instance derived from its rendered schema.
+ */
+class InstanceFixtures {
+  private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+  private static final String TEMPLATE_ID = "https://repo.metadatacenter.org/templates/instance-fixtures";
+
+  private InstanceFixtures() {
+  }
+
+  static TemplateSchemaArtifact createTemplate() {
+    var contact = ElementSchemaArtifact.builder()
+        .withName("Contact")
+        .withIsMultiple(true)
+        .withFieldSchema(TextField.builder().withName("Name").withMaxLength(20).build())
+        .build();
+    return TemplateSchemaArtifact.builder()
+        .withJsonLdId(URI.create(TEMPLATE_ID))
+        .withName("Revalidation template")
+        .withFieldSchema(TextField.builder().withName("Title").withRegex("^[a-z ]*$").withRequiredValue(true).build())
+        .withFieldSchema(TextField.builder().withName("Keywords").withIsMultiple(true).build())
+        .withElementSchema(contact)
+        .build();
+  }
+
+  static ObjectNode renderTemplate() {
+    return new JsonSchemaArtifactRenderer().renderTemplateSchemaArtifact(createTemplate());
+  }
+
+  /**
+   * Returns a valid instance of the rendered template, with two items in every array.
+   */
+  static ObjectNode createInstance(ObjectNode templateNode) {
+    return (ObjectNode) fill("", templateNode);
+  }
+
+  /**
+   * Builds the smallest value that the given JSON schema accepts, with two items in every array.
+   */
+  private static JsonNode fill(String name, JsonNode schema) {
+    if (schema.has("enum")) {
+      return schema.get("enum").get(0);
+    }
+    if (schema.has("oneOf")) {
+      return fill(name, schema.get("oneOf").get(0));
+    }
+    if (schema.has("anyOf")) {
+      return fill(name, schema.get("anyOf").get(0));
+    }
+    if (name.equals("schema:isBasedOn")) {
+      return NODES.textNode(TEMPLATE_ID);
+    }
+
+    var type = schema.path("type");
+    String typeName;
+    if (type.isArray()) {
+      boolean nullable = false;
+      for (var item : type) {
+        nullable |= item.asText().equals("null");
+      }
+      if (nullable && !name.equals("@value")) {
+        return NODES.nullNode();
+      }
+      typeName = type.get(0).asText();
+    } else if (type.isTextual()) {
+      typeName = type.asText();
+    } else {
+      typeName = schema.has("properties") ? "object" : "string";
+    }
+
+    switch (typeName) {
+      case "object":
+        var object = NODES.objectNode();
+        var properties = schema.path("properties");
+        var names = schema.has("required") ? schema.get("required").elements() : null;
+        if (names != null) {
+          while (names.hasNext()) {
+            var property = names.next().asText();
+            object.set(property, fill(property, properties.path(property)));
+          }
+        } else {
+          var propertyNames = properties.fieldNames();
+          while (propertyNames.hasNext()) {
+            var property = propertyNames.next();
+            object.set(property, fill(property, properties.get(property)));
+          }
+        }
+        return object;
+      case "array":
+        ArrayNode array = NODES.arrayNode();
+        int length = Math.max(2, schema.path("minItems").asInt(0));
+        for (int i = 0; i < length; i++) {
+          array.add(fill(name, schema.path("items")));
+        }
+        return array;
+      case "integer":
+      case "number":
+        return NODES.numberNode(0);
+      case "boolean":
+        return NODES.booleanNode(false);
+      case "null":
+        return NODES.nullNode();
+      default:
+        var format = schema.path("format").asText("");
+        if (format.equals("uri")) {
+          return NODES.textNode("https://example.org/" + name.replace(' ', '-'));
+        } else if (format.equals("date-time")) {
+          return NODES.textNode("2024-01-01T00:00:00-08:00");
+        }
+        return NODES.textNode("value");
+    }
+  }
+}
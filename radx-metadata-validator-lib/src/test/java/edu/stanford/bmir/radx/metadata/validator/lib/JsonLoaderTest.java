@@ -0,0 +1,65 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonLoaderTest {
+  private static final String JSON = "{\"Study Name\": {\"@value\": \"RADx\"}, \"Keywords\": [{\"@value\": \"covid\"}]}";
+  private static final byte[] JSON_BYTES = JSON.getBytes(StandardCharsets.UTF_8);
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testAllOverloadsParseTheSameTree() throws IOException {
+    var expected = JsonLoader.loadJson(JSON, "Instance");
+    var file = Files.write(tempDir.resolve("instance.json"), JSON_BYTES);
+
+    assertEquals(expected, JsonLoader.loadJson(JSON_BYTES, "Instance"));
+    assertEquals(expected, JsonLoader.loadJson(new ByteArrayInputStream(JSON_BYTES), "Instance"));
+    assertEquals(expected, JsonLoader.loadJson(ByteBuffer.wrap(JSON_BYTES), "Instance"));
+    assertEquals(expected, JsonLoader.loadJson(file, "Instance"));
+  }
+
+  @Test
+  void testLoadJsonFromDirectAndOffsetByteBuffers() {
+    var expected = JsonLoader.loadJson(JSON, "Instance");
+
+    var direct = ByteBuffer.allocateDirect(JSON_BYTES.length);
+    direct.put(JSON_BYTES).flip();
+    assertEquals(expected, JsonLoader.loadJson(direct, "Instance"));
+    assertEquals(JSON_BYTES.length, direct.remaining());
+
+    var padded = ByteBuffer.allocate(JSON_BYTES.length + 4);
+    padded.put("    ".getBytes(StandardCharsets.UTF_8)).put(JSON_BYTES).flip().position(4);
+    assertEquals(expected, JsonLoader.loadJson(padded.slice(), "Instance"));
+  }
+
+  @Test
+  void testInvalidJsonThrowsJsonParseException() {
+    var invalid = "{\"Study Name\": ";
+    var invalidBytes = invalid.getBytes(StandardCharsets.UTF_8);
+
+    var exception = assertThrows(JsonParseException.class, () -> JsonLoader.loadJson(invalid, "Instance"));
+    assertEquals("Instance is not a valid JSON file.", exception.getMessage());
+    assertThrows(JsonParseException.class, () -> JsonLoader.loadJson(invalidBytes, "Instance"));
+    assertThrows(JsonParseException.class, () -> JsonLoader.loadJson(new ByteArrayInputStream(invalidBytes), "Instance"));
+    assertThrows(JsonParseException.class, () -> JsonLoader.loadJson(ByteBuffer.wrap(invalidBytes), "Instance"));
+  }
+
+  @Test
+  void testMissingFileThrowsUncheckedIOException() {
+    assertThrows(UncheckedIOException.class, () -> JsonLoader.loadJson(tempDir.resolve("missing.json"), "Instance"));
+  }
+}
@@ -0,0 +1,52 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicrometerValidationMetricsTest {
+  private SimpleMeterRegistry registry;
+  private MicrometerValidationMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    metrics = new MicrometerValidationMetrics(registry);
+  }
+
+  @Test
+  void testStageTimerIsTaggedWithStage() {
+    metrics.recordStage(ValidationStage.SCHEMA_VALIDATION, metrics.startTimer());
+
+    assertEquals(1, registry.get("radx.validator.stage").tag("stage", "schema_validation").timer().count());
+    assertEquals(0, registry.get("radx.validator.stage").tag("stage", "artifact_reading").timer().count());
+  }
+
+  @Test
+  void testResultsAreCountedByLevelAndName() {
+    metrics.recordResult(new ValidationResult(ValidationLevel.ERROR, ValidationName.CARDINALITY_VALIDATION, "m", "/a"));
+    metrics.recordResult(new ValidationResult(ValidationLevel.ERROR, ValidationName.CARDINALITY_VALIDATION, "m", "/b"));
+
+    assertEquals(2.0, registry.get("radx.validator.results").tag("level", "ERROR").tag("name", "CARDINALITY_VALIDATION").counter().count());
+  }
+
+  @Test
+  void testTemplateCacheLookupsAndInstanceSizes() {
+    metrics.recordTemplateCacheLookup(true);
+    metrics.recordTemplateCacheLookup(false);
+    metrics.recordTemplateCacheLookup(true);
+    metrics.recordInstanceSize(1024);
+
+    assertEquals(2.0, registry.get("radx.validator.template.cache").tag("result", "hit").counter().count());
+    assertEquals(1.0, registry.get("radx.validator.template.cache").tag("result", "miss").counter().count());
+    assertEquals(1024.0, registry.get("radx.validator.instance.size").summary().totalAmount());
+  }
+
+  @Test
+  void testNoopIsDisabled() {
+    assertFalse(ValidationMetrics.NOOP.isEnabled());
+    assertTrue(metrics.isEnabled());
+  }
+}
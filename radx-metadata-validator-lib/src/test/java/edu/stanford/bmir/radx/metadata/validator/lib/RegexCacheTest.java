@@ -0,0 +1,61 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegexCacheTest {
+
+  @Test
+  void testMatchesRequiresWholeInput() {
+    var cache = new RegexCache();
+
+    assertTrue(cache.matches("[a-z]+", "abc"));
+    assertFalse(cache.matches("[a-z]+", "abc1"));
+    assertEquals("abc1".matches("[a-z]+"), cache.matches("[a-z]+", "abc1"));
+  }
+
+  @Test
+  void testGetPatternReturnsCachedInstance() {
+    var cache = new RegexCache();
+
+    assertSame(cache.getPattern("\\d+"), cache.getPattern("\\d+"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testCacheIsBounded() {
+    var cache = new RegexCache(2);
+    cache.getPattern("a");
+    cache.getPattern("b");
+    cache.getPattern("c");
+
+    assertTrue(cache.size() <= 2);
+    assertTrue(cache.matches("a", "a"));
+  }
+
+  @Test
+  void testConcurrentLookupsShareOnePattern() throws Exception {
+    var cache = new RegexCache();
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var futures = new ArrayList<Future<Pattern>>();
+      for (int i = 0; i < 100; i++) {
+        futures.add(executor.submit(() -> cache.getPattern("[0-9]+")));
+      }
+      var pattern = cache.getPattern("[0-9]+");
+      for (var future : futures) {
+        assertEquals("[0-9]+", future.get().pattern());
+      }
+      assertSame(pattern, cache.getPattern("[0-9]+"));
+      assertEquals(1, cache.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevalidationTest {
+  private AnnotationConfigApplicationContext context;
+  private Validator validator;
+  private byte[] template;
+  private ObjectNode instance;
+  private ValidationReport report;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    context = new AnnotationConfigApplicationContext("edu.stanford.bmir.radx.metadata.validator.lib");
+    validator = context.getBean(ValidatorFactory.class).createValidator(new LiteralFieldValidators(new HashMap<>()));
+
+    var templateNode = InstanceFixtures.renderTemplate();
+    template = JsonLoader.getObjectMapper().writeValueAsBytes(templateNode);
+    instance = InstanceFixtures.createInstance(templateNode);
+    report = validator.validateInstance(template, instance);
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  @Test
+  void testFixtureIsValid() {
+    assertTrue(report.results().stream().noneMatch(result -> result.validationLevel() == ValidationLevel.ERROR));
+  }
+
+  @Test
+  void testScalarChange() throws Exception {
+    assertSameReport(edited -> setValue(edited.get("Title"), "not valid 1"), true);
+    assertSameReport(edited -> setValue(edited.get("Title"), "another title"), false);
+    assertSameReport(edited -> setValue(edited.get("Contact").get(0).get("Name"), "a name that is longer than twenty"), true);
+  }
+
+  @Test
+  void testArrayItemAdded() throws Exception {
+    assertSameReport(edited -> ((ArrayNode) edited.get("Keywords")).add(JsonNodeFactory.instance.objectNode().put("@value", "added")), false);
+    assertSameReport(edited -> ((ArrayNode) edited.get("Contact")).add(edited.get("Contact").get(0).deepCopy()), false);
+  }
+
+  @Test
+  void testArrayItemRemoved() throws Exception {
+    assertSameReport(edited -> ((ArrayNode) edited.get("Keywords")).remove(0), false);
+    assertSameReport(edited -> ((ArrayNode) edited.get("Contact")).remove(0), false);
+  }
+
+  @Test
+  void testSchemaConstrainedValue() throws Exception {
+    assertSameReport(edited -> ((ObjectNode) edited.get("Title")).put("@value", 5), true);
+    assertSameReport(edited -> ((ObjectNode) edited.get("Keywords").get(0)).put("@id", "not a uri"), true);
+    assertSameReport(edited -> ((ObjectNode) edited.get("Title")).put("@type", 5), true);
+  }
+
+  /**
+   * Edits a copy of the fixture instance and checks that revalidating it against the fixture's report gives the
+   * same report as validating it in full.
+   */
+  private void assertSameReport(Consumer<ObjectNode> edit, boolean hasErrors) throws Exception {
+    var edited = instance.deepCopy();
+    edit.accept(edited);
+
+    var expected = validator.validateInstance(template, edited);
+    var actual = validator.revalidateInstance(template, instance, report, edited);
+
+    assertEquals(expected, actual);
+    assertEquals(hasErrors, expected.results().stream().anyMatch(result -> result.validationLevel() == ValidationLevel.ERROR));
+  }
+
+  private static void setValue(JsonNode field, String value) {
+    ((ObjectNode) field).put("@value", value);
+  }
+}
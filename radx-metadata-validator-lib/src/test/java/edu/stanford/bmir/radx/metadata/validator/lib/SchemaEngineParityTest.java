@@ -0,0 +1,122 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.CompiledSchema;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.SchemaEngineType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaEngineParityTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private CompiledSchema fgeSchema;
+  private CompiledSchema networkntSchema;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    JsonNode template;
+    try (var inputStream = getClass().getResourceAsStream("/schema-engine-parity-template.json")) {
+      template = objectMapper.readTree(inputStream);
+    }
+    fgeSchema = SchemaEngineType.FGE.createEngine().compile(template);
+    networkntSchema = SchemaEngineType.NETWORKNT.createEngine().compile(template);
+  }
+
+  private Set<String> pointers(CompiledSchema schema, String instance) throws IOException {
+    var results = new ArrayList<ValidationResult>();
+    schema.validate(objectMapper.readTree(instance), results::add);
+    var pointers = new TreeSet<String>();
+    for (var result : results) {
+      assertEquals(ValidationLevel.ERROR, result.validationLevel());
+      assertEquals(ValidationName.SCHEMA_VALIDATION, result.validationName());
+      pointers.add(result.pointer());
+    }
+    return pointers;
+  }
+
+  private void assertParity(String instance, Set<String> expectedPointers) throws IOException {
+    assertEquals(expectedPointers, pointers(fgeSchema, instance));
+    assertEquals(expectedPointers, pointers(networkntSchema, instance));
+  }
+
+  @Test
+  void testValidInstance() throws IOException {
+    var instance = """
+        {"@context": {}, "schema:isBasedOn": "https://repo.metadatacenter.org/templates/1",
+         "Study Name": {"@value": "RADx"}, "Keywords": [{"@value": "covid"}],
+         "Contact": {"@id": "https://example.org/contact/1", "Email": {"@value": null}}}
+        """;
+    assertTrue(pointers(fgeSchema, instance).isEmpty());
+    assertTrue(pointers(networkntSchema, instance).isEmpty());
+  }
+
+  @Test
+  void testMissingRequiredProperty() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@value": "RADx"}}
+        """;
+    assertParity(instance, Set.of(""));
+  }
+
+  @Test
+  void testNestedMissingRequiredProperty() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@value": "RADx"}, "Contact": {}}
+        """;
+    assertParity(instance, Set.of("/Contact"));
+  }
+
+  @Test
+  void testWrongValueType() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@value": 5}, "Contact": {"Email": {"@value": null}}}
+        """;
+    assertParity(instance, Set.of("/Study Name/@value"));
+  }
+
+  @Test
+  void testAdditionalProperty() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@value": "RADx", "rdfs:label": "RADx"}, "Contact": {"Email": {"@value": null}}}
+        """;
+    assertParity(instance, Set.of("/Study Name"));
+  }
+
+  @Test
+  void testWrongArrayItemType() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@value": "RADx"}, "Keywords": [{"@value": "covid"}, {"@value": 1}],
+         "Contact": {"Email": {"@value": null}}}
+        """;
+    assertParity(instance, Set.of("/Keywords/@value"));
+  }
+
+  @Test
+  void testOneOfMismatch() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@type": 5, "@value": "RADx"}, "Contact": {"Email": {"@value": null}}}
+        """;
+    assertParity(instance, Set.of("/Study Name/@type"));
+  }
+
+  @Test
+  void testMessagesIncludePointer() throws IOException {
+    var instance = """
+        {"@context": {}, "Study Name": {"@value": 5}, "Contact": {"Email": {"@value": null}}}
+        """;
+    for (var schema : List.of(fgeSchema, networkntSchema)) {
+      var results = new ArrayList<ValidationResult>();
+      schema.validate(objectMapper.readTree(instance), results::add);
+      assertTrue(results.stream().allMatch(r -> r.message().endsWith(" at " + r.pointer())));
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageExecutorTest {
+
+  private static ValidationResult result(String pointer) {
+    return new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, "error", pointer);
+  }
+
+  @Test
+  void testSequentialStagesRunWhenJoined() throws Exception {
+    var order = new ArrayList<String>();
+    var first = StageExecutor.SEQUENTIAL.fork(h -> order.add("first"));
+    var second = StageExecutor.SEQUENTIAL.fork(h -> order.add("second"));
+
+    assertTrue(order.isEmpty());
+    second.join(r -> {});
+    first.join(r -> {});
+    assertEquals(List.of("second", "first"), order);
+  }
+
+  @Test
+  void testConcurrentResultsAreReportedInJoinOrder() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      var stageExecutor = StageExecutor.concurrent(executor);
+      var secondDone = new CountDownLatch(1);
+      StageExecutor.ForkedStage<Integer> first = stageExecutor.fork(h -> {
+        secondDone.await();
+        h.accept(result("/first"));
+        return 1;
+      });
+      StageExecutor.ForkedStage<Integer> second = stageExecutor.fork(h -> {
+        h.accept(result("/second"));
+        secondDone.countDown();
+        return 2;
+      });
+
+      var results = new ArrayList<ValidationResult>();
+      int firstValue = first.join(results::add);
+      int secondValue = second.join(results::add);
+      assertEquals(1, firstValue);
+      assertEquals(2, secondValue);
+      assertEquals(List.of(result("/first"), result("/second")), results);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testConcurrentStageRethrowsCause() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      var stage = StageExecutor.concurrent(executor).fork(h -> {
+        h.accept(result("/a"));
+        throw new JsonParseException("bad json");
+      });
+
+      var results = new ArrayList<ValidationResult>();
+      assertThrows(JsonParseException.class, () -> stage.join(results::add));
+      assertEquals(List.of(result("/a")), results);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testCancelInterruptsRunningStage() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      var started = new CountDownLatch(1);
+      var stopped = new CountDownLatch(1);
+      var stage = StageExecutor.concurrent(executor).fork(h -> {
+        started.countDown();
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+          stopped.countDown();
+        }
+        return null;
+      });
+
+      started.await();
+      stage.cancel();
+      assertTrue(stopped.await(5, TimeUnit.SECONDS));
+      //the pool thread is not left interrupted for its next task
+      assertFalse(executor.submit(() -> Thread.currentThread().isInterrupted()).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -7,6 +7,7 @@ import org.metadatacenter.artifacts.model.core.fields.constraints.LiteralValueCo
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -98,4 +99,11 @@ public class TextFieldValidationUtilTest {
     List<LiteralValueConstraint> literals = List.of(literalValueConstraint_1, literalValueConstraint_2, literalValueConstraint_3);
     assertFalse(textFieldValidationUtil.validLiteral(literals, "Cat"));
   }
+
+  @Test
+  void testValidLiteralWithLabelSet() {
+    var literalLabels = Set.of("Apple", "Orange", "Cherry");
+    assertTrue(textFieldValidationUtil.validLiteral(literalLabels, "Apple"));
+    assertFalse(textFieldValidationUtil.validLiteral(literalLabels, "Cat"));
+  }
 }
@@ -0,0 +1,44 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeOnlySchemaCheckTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String SCHEMA = """
+      {"type": "object", "properties": {
+        "Field": {"type": "array", "minItems": 1, "items": {"type": "object", "properties": {
+          "@value": {"type": ["string", "null"]},
+          "@id": {"type": "string", "format": "uri"}}}},
+        "Choice": {"type": "object", "properties": {"@value": {"enum": ["a", "b"]}}},
+        "Unique": {"type": "array", "uniqueItems": true, "items": {"type": "object", "properties": {"@value": {"type": "string"}}}}},
+        "additionalProperties": false}
+      """;
+
+  private static final String INSTANCE = """
+      {"Field": [{"@value": "a", "@id": "https://example.org"}], "Choice": {"@value": "a"}, "Unique": [{"@value": "a"}]}
+      """;
+
+  private static boolean isTypeOnly(String pointer) throws Exception {
+    JsonNode schema = MAPPER.readTree(SCHEMA);
+    JsonNode instance = MAPPER.readTree(INSTANCE);
+    return TypeOnlySchemaCheck.isTypeOnly(schema, instance, JsonPointer.compile(pointer));
+  }
+
+  @Test
+  void testValueConstrainedByTypeOnly() throws Exception {
+    assertTrue(isTypeOnly("/Field/0/@value"));
+  }
+
+  @Test
+  void testValueConstrainedByContent() throws Exception {
+    assertFalse(isTypeOnly("/Field/0/@id"));
+    assertFalse(isTypeOnly("/Choice/@value"));
+    assertFalse(isTypeOnly("/Unique/0/@value"));
+  }
+}
@@ -0,0 +1,101 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.DataTypeValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.RequiredFieldValidatorComponent;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.SchemaPathTable;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.ValidationPlan;
+import edu.stanford.bmir.radx.metadata.validator.lib.validators.ValidationPlanCompiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.metadatacenter.artifacts.model.core.*;
+import org.metadatacenter.artifacts.model.visitors.TemplateReporter;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+public class ValidationPlanCompilerTest {
+  private DataTypeValidatorComponent dataTypeValidatorComponent;
+  private ValidationPlanCompiler validationPlanCompiler;
+  @Mock
+  private TemplateInstanceValuesReporter valuesReporter;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    var fieldSchemaValidationHelper = new FieldSchemaValidationHelper();
+    dataTypeValidatorComponent = new DataTypeValidatorComponent(new TextFieldValidationUtil(), new NumericFieldValidationUtil(), new AttributeValueValidationUtil(), fieldSchemaValidationHelper);
+    validationPlanCompiler = new ValidationPlanCompiler(dataTypeValidatorComponent, fieldSchemaValidationHelper, new RequiredFieldValidatorComponent());
+  }
+
+  @Test
+  void testPlanReportsSameResultsAsTemplateLookups() {
+    TemplateSchemaArtifact templateSchemaArtifact = createTemplate();
+    var templateReporter = new TemplateReporter(templateSchemaArtifact);
+
+    Map<String, FieldValues> values = new HashMap<>();
+    values.put("/Text field", new FieldValues(List.of(), Optional.empty(), Optional.of("a"), Optional.of("label")));
+    values.put("/Element[0]/Nested field[0]", new FieldValues(List.of(), Optional.empty(), Optional.of("abcd"), Optional.empty()));
+    values.put("/Element[1]/Nested field[0]", new FieldValues(List.of(), Optional.empty(), Optional.of("abc"), Optional.empty()));
+    values.put("/Unknown field", new FieldValues(List.of(), Optional.empty(), Optional.of("abc"), Optional.empty()));
+    when(valuesReporter.getValues()).thenReturn(values);
+    when(valuesReporter.getAttributeValueFields()).thenReturn(List.of());
+
+    var expected = new HashSet<ValidationResult>();
+    dataTypeValidatorComponent.validate(templateReporter, valuesReporter, expected::add);
+
+    var validationPlan = validationPlanCompiler.compile(templateSchemaArtifact, templateReporter, LiteralLabelIndex.EMPTY);
+    var actual = new HashSet<ValidationResult>();
+    dataTypeValidatorComponent.validate(validationPlan, valuesReporter, actual::add);
+
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void testPathTableResolvesInstancePathsAndChildren() {
+    TemplateSchemaArtifact templateSchemaArtifact = createTemplate();
+    var validationPlan = validationPlanCompiler.compile(templateSchemaArtifact, new TemplateReporter(templateSchemaArtifact), LiteralLabelIndex.EMPTY);
+    var pathTable = validationPlan.getPathTable();
+
+    int elementId = pathTable.getId("/Element[1]");
+    assertEquals("/Element", pathTable.getPath(elementId));
+    assertEquals(pathTable.getId("/Element[0]/Nested field[2]"), pathTable.getChildId(elementId, "Nested field"));
+    assertEquals(SchemaPathTable.UNKNOWN, pathTable.getId("/Unknown field"));
+    assertEquals(SchemaPathTable.UNKNOWN, pathTable.getChildId(SchemaPathTable.UNKNOWN, "Nested field"));
+  }
+
+  @Test
+  void testNormalizePathRemovesArrayIndices() {
+    assertEquals("/Element/Field", ValidationPlan.normalizePath("/Element[0]/Field[12]"));
+    assertEquals("/Element/Field", ValidationPlan.normalizePath("/Element/Field"));
+    assertEquals("/Element[a]/Field[]", ValidationPlan.normalizePath("/Element[a]/Field[]"));
+  }
+
+  private static TemplateSchemaArtifact createTemplate() {
+    FieldSchemaArtifact textField = TextField.builder()
+        .withName("Text field")
+        .withRegex("^[0-9]+$")
+        .withMinLength(2)
+        .build();
+    FieldSchemaArtifact nestedTextField = TextField.builder()
+        .withName("Nested field")
+        .withMaxLength(3)
+        .withIsMultiple(true)
+        .build();
+    ElementSchemaArtifact elementSchemaArtifact = ElementSchemaArtifact.builder()
+        .withName("Element")
+        .withFieldSchema(nestedTextField)
+        .withIsMultiple(true)
+        .build();
+    return TemplateSchemaArtifact.builder()
+        .withName("My template")
+        .withFieldSchema(textField)
+        .withElementSchema(elementSchemaArtifact)
+        .build();
+  }
+}
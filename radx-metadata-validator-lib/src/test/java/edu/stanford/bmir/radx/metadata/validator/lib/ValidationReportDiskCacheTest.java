@@ -0,0 +1,69 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationReportDiskCacheTest {
+  @TempDir
+  Path tempDir;
+
+  private static ValidationReport report(String message) {
+    return new ValidationReport(List.of(
+        new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, message, "/Field"),
+        new ValidationResult(ValidationLevel.WARNING, ValidationName.SANITATION_CHECK, "Instance is not based on x", "")));
+  }
+
+  @Test
+  void testReportIsReadBackAcrossInstances() throws IOException {
+    var cache = new ValidationReportDiskCache(tempDir, 1024 * 1024, "max-errors=0");
+    var key = cache.getKey("template", "instance");
+    assertTrue(cache.get(key).isEmpty());
+
+    cache.put(key, report("Invalid value at /Field"));
+
+    var reopened = new ValidationReportDiskCache(tempDir, 1024 * 1024, "max-errors=0");
+    assertEquals(report("Invalid value at /Field"), reopened.get(key).orElseThrow());
+    assertEquals(cache.size(), reopened.size());
+  }
+
+  @Test
+  void testKeyDependsOnConfiguration() throws IOException {
+    var cache = new ValidationReportDiskCache(tempDir, 1024 * 1024, "max-errors=0");
+    var failFastCache = new ValidationReportDiskCache(tempDir, 1024 * 1024, "max-errors=1");
+
+    assertNotEquals(cache.getKey("template", "instance"), failFastCache.getKey("template", "instance"));
+    assertNotEquals(cache.getKey("template", "instance"), cache.getKey("template", "other instance"));
+  }
+
+  @Test
+  void testLeastRecentlyUsedReportIsEvicted() throws IOException {
+    var report = report("Invalid value at /Field");
+    var probe = new ValidationReportDiskCache(tempDir.resolve("probe"), 1024 * 1024, "");
+    probe.put("probe", report);
+    long reportSize = probe.size();
+
+    var cache = new ValidationReportDiskCache(tempDir.resolve("cache"), reportSize * 2, "");
+    cache.put("a", report);
+    cache.put("b", report);
+    assertTrue(cache.get("a").isPresent());
+    cache.put("c", report);
+
+    assertTrue(cache.get("a").isPresent());
+    assertTrue(cache.get("b").isEmpty());
+    assertTrue(cache.get("c").isPresent());
+  }
+
+  @Test
+  void testReportsOfUnexpectedFailuresAreNotStored() throws IOException {
+    var cache = new ValidationReportDiskCache(tempDir, 1024 * 1024, "");
+    cache.put("a", new ValidationReport(List.of(new ValidationResult(ValidationLevel.ERROR, ValidationName.UNKNOWN, "failure", ""))));
+
+    assertTrue(cache.get("a").isEmpty());
+  }
+}
@@ -0,0 +1,62 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ValidationReportSinkTest {
+  private final ValidationReportWriter validationReportWriter = new ValidationReportWriter();
+  private final ValidationResult warning = new ValidationResult(ValidationLevel.WARNING, ValidationName.LITERAL_FIELD_VALIDATION, "warning", "/a");
+  private final ValidationResult errorB = new ValidationResult(ValidationLevel.ERROR, ValidationName.DATA_TYPE_VALIDATION, "error b", "/b");
+  private final ValidationResult errorA = new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, "error a", "/a");
+
+  @Test
+  void testReportSinkWritesSameOutputAsReportWriter() throws Exception {
+    var report = new ValidationReport(List.of(errorA, errorB, warning));
+    var expected = new ByteArrayOutputStream();
+    validationReportWriter.writeReportHeader(expected);
+    validationReportWriter.writeReport(report, expected);
+
+    var actual = new ByteArrayOutputStream();
+    try (var sink = validationReportWriter.openReport(actual)) {
+      sink.write(report);
+      assertEquals(2, sink.getErrorCount());
+    }
+
+    assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testStreamedResultsAreWrittenInProducedOrder() throws Exception {
+    var out = new ByteArrayOutputStream();
+    try (var sink = validationReportWriter.openReport(out)) {
+      sink.accept(warning);
+      sink.accept(errorA);
+    }
+
+    var lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+    assertEquals(3, lines.length);
+    assertEquals("WARNING,/a,LITERAL_FIELD_VALIDATION,warning", lines[1]);
+    assertEquals("ERROR,/a,REQUIREMENT_VALIDATION,error a", lines[2]);
+  }
+
+  @Test
+  void testBatchSinkWritesInstanceColumn() throws Exception {
+    var out = new ByteArrayOutputStream();
+    try (var sink = validationReportWriter.openBatchReport(out)) {
+      sink.startInstance("one.json");
+      sink.write(new ValidationReport(List.of(errorA)));
+      sink.startInstance("two.json");
+      sink.write(new ValidationReport(List.of(warning)));
+    }
+
+    var lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+    assertEquals("INSTANCE,LEVEL,PATH,VALIDATION TYPE,MESSAGE", lines[0]);
+    assertEquals("one.json,ERROR,/a,REQUIREMENT_VALIDATION,error a", lines[1]);
+    assertEquals("two.json,WARNING,/a,LITERAL_FIELD_VALIDATION,warning", lines[2]);
+  }
+}
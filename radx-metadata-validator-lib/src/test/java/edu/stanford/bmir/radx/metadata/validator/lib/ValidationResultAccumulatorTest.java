@@ -0,0 +1,50 @@
+package edu.stanford.bmir.radx.metadata.validator.lib;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationResultAccumulatorTest {
+
+  @Test
+  void testDuplicatesAreDropped() {
+    var accumulator = new ValidationResultAccumulator();
+
+    assertTrue(accumulator.add(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, "m", "/a")));
+    assertFalse(accumulator.add(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, "m", "/a")));
+    assertTrue(accumulator.add(new ValidationResult(ValidationLevel.ERROR, ValidationName.SCHEMA_VALIDATION, "other", "/a")));
+    assertEquals(2, accumulator.size());
+    assertTrue(accumulator.hasErrors());
+  }
+
+  @Test
+  void testWarningsAreNotErrors() {
+    var accumulator = new ValidationResultAccumulator();
+    accumulator.add(new ValidationResult(ValidationLevel.WARNING, ValidationName.DATA_TYPE_VALIDATION, "m", "/a"));
+
+    assertFalse(accumulator.hasErrors());
+  }
+
+  @Test
+  void testMatchesHashSetAndSortOnManyResults() {
+    var accumulator = new ValidationResultAccumulator();
+    var expected = new HashSet<ValidationResult>();
+    var levels = ValidationLevel.values();
+    var names = ValidationName.values();
+    for (int i = 0; i < 5000; i++) {
+      var result = new ValidationResult(levels[i % levels.length], names[i % names.length], "m" + (i % 700), "/field" + (i % 300));
+      assertEquals(expected.add(result), accumulator.add(result));
+    }
+
+    var sorted = new ArrayList<>(expected);
+    sorted.sort(ValidationReport.RESULT_ORDER);
+    var actual = accumulator.toSortedList();
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < actual.size(); i++) {
+      assertEquals(0, ValidationReport.RESULT_ORDER.compare(sorted.get(i), actual.get(i)));
+    }
+  }
+}
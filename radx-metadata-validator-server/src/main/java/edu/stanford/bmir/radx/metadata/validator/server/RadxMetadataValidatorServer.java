@@ -0,0 +1,60 @@
+package edu.stanford.bmir.radx.metadata.validator.server;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.ExecutionMode;
+import edu.stanford.bmir.radx.metadata.validator.lib.LiteralFieldValidators;
+import edu.stanford.bmir.radx.metadata.validator.lib.MicrometerValidationMetrics;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationExecutors;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationMetrics;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationOptions;
+import edu.stanford.bmir.radx.metadata.validator.lib.Validator;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidatorFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+@SpringBootApplication(scanBasePackages = "edu.stanford.bmir.radx.metadata.validator")
+public class RadxMetadataValidatorServer {
+
+  public static void main(String[] args) {
+    SpringApplication.run(RadxMetadataValidatorServer.class, args);
+  }
+
+  /**
+   * One validator is shared by all requests, so compiled templates stay warm for the life of the server.
+   */
+  @Bean
+  public Validator validator(ValidatorFactory validatorFactory, @Value("${radx.validator.server.max-errors:0}") int maxErrors) {
+    return validatorFactory.createValidator(new LiteralFieldValidators(new HashMap<>()), new ValidationOptions(maxErrors));
+  }
+
+  /**
+   * Publishes per-stage timings, result counts, template cache lookups and instance sizes to the actuator's
+   * registry.
+   */
+  @Bean
+  public ValidationMetrics validationMetrics(MeterRegistry meterRegistry) {
+    return new MicrometerValidationMetrics(meterRegistry);
+  }
+
+  /**
+   * Validations run on a pool of {@code cpu-threads} platform threads when requests are served on virtual threads,
+   * so that a burst of uploads does not run more validations at once than there are cores. Without an explicit
+   * mode, virtual threads are used when the JVM supports them.
+   */
+  @Bean(destroyMethod = "close")
+  public ValidationExecutors validationExecutors(@Value("${radx.validator.server.execution-mode:}") String executionMode,
+                                                 @Value("${radx.validator.server.cpu-threads:0}") int cpuThreads) {
+    ExecutionMode mode;
+    if (executionMode.isBlank()) {
+      mode = ValidationExecutors.isVirtualThreadSupported() ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM;
+    } else {
+      mode = ExecutionMode.valueOf(executionMode.trim().toUpperCase(Locale.ROOT));
+    }
+    return ValidationExecutors.create(mode, cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors());
+  }
+}
@@ -0,0 +1,43 @@
+package edu.stanford.bmir.radx.metadata.validator.server;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.ContentHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Templates registered with the server, by id. The id of a template is the SHA-256 of its content, so registering
+ * the same template twice returns the same id. The same content array is handed to the validator for every
+ * request, which lets the validator reuse the template's hash and compiled form. The least recently used template
+ * is dropped when more than the configured number of templates are registered.
+ */
+@Component
+public class TemplateRegistry {
+  private final Map<String, byte[]> templates;
+
+  public TemplateRegistry(@Value("${radx.validator.server.max-templates:256}") int maxTemplates) {
+    this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+        return size() > maxTemplates;
+      }
+    };
+  }
+
+  public String register(byte[] templateContent) {
+    var templateId = ContentHash.sha256(templateContent);
+    synchronized (templates) {
+      templates.putIfAbsent(templateId, templateContent);
+    }
+    return templateId;
+  }
+
+  public Optional<byte[]> get(String templateId) {
+    synchronized (templates) {
+      return Optional.ofNullable(templates.get(templateId));
+    }
+  }
+}
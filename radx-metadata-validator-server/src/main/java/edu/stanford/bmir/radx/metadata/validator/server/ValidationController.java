@@ -0,0 +1,109 @@
+package edu.stanford.bmir.radx.metadata.validator.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationExecutors;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationReport;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationReportWriter;
+import edu.stanford.bmir.radx.metadata.validator.lib.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * HTTP API of the validator. A template is either registered once and referred to by id, or sent along with the
+ * instance. Reports are returned as JSON, or as the CLI's CSV report when the client accepts {@code text/csv}.
+ */
+@RestController
+public class ValidationController {
+  private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+  private final Validator validator;
+  private final TemplateRegistry templateRegistry;
+  private final ValidationReportWriter validationReportWriter;
+  private final ObjectMapper objectMapper;
+  private final ValidationExecutors validationExecutors;
+
+  public ValidationController(Validator validator, TemplateRegistry templateRegistry,
+                              @Qualifier("MetadataValidationReportWriter") ValidationReportWriter validationReportWriter,
+                              ObjectMapper objectMapper, ValidationExecutors validationExecutors) {
+    this.validator = validator;
+    this.validationExecutors = validationExecutors;
+    this.templateRegistry = templateRegistry;
+    this.validationReportWriter = validationReportWriter;
+    this.objectMapper = objectMapper;
+  }
+
+  @PostMapping(path = "/templates", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public TemplateRegistration registerTemplate(@RequestBody byte[] template) {
+    return new TemplateRegistration(templateRegistry.register(template));
+  }
+
+  @PostMapping(path = "/templates/{templateId}/validate", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> validate(@PathVariable String templateId, @RequestBody byte[] instance,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws Exception {
+    var template = templateRegistry.get(templateId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown template id: " + templateId));
+    return toResponse(validate(template, instance), accept);
+  }
+
+  /**
+   * Validates an instance against a template sent in the same request. The template is registered, so later
+   * requests with the same template reuse its compiled form.
+   */
+  @PostMapping(path = "/validate", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> validate(@RequestBody ValidationRequest request,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws Exception {
+    if (request.template() == null || request.instance() == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Both template and instance are required");
+    }
+    var templateId = templateRegistry.register(objectMapper.writeValueAsBytes(request.template()));
+    var template = templateRegistry.get(templateId).orElseThrow();
+    return toResponse(validate(template, objectMapper.writeValueAsBytes(request.instance())), accept);
+  }
+
+  private ValidationReport validate(byte[] template, byte[] instance) throws Exception {
+    return validationExecutors.runValidation(() -> validator.validateInstance(template, instance));
+  }
+
+  private ResponseEntity<?> toResponse(ValidationReport report, String accept) throws Exception {
+    if (acceptsCsv(accept)) {
+      var out = new ByteArrayOutputStream();
+      try (var sink = validationReportWriter.openReport(out)) {
+        sink.write(report);
+      }
+      return ResponseEntity.ok().contentType(TEXT_CSV).body(out.toByteArray());
+    }
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ValidationResponse.of(report));
+  }
+
+  /**
+   * Returns true if the first media type in the Accept header that names a report format is CSV.
+   */
+  private static boolean acceptsCsv(String accept) {
+    if (accept == null) {
+      return false;
+    }
+    for (var mediaType : MediaType.parseMediaTypes(accept)) {
+      if (mediaType.isWildcardType() || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+        return false;
+      }
+      if (mediaType.isCompatibleWith(TEXT_CSV)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public record ValidationRequest(JsonNode template, JsonNode instance) {
+  }
+
+  public record TemplateRegistration(String templateId) {
+  }
+}
@@ -0,0 +1,28 @@
+package edu.stanford.bmir.radx.metadata.validator.server;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationLevel;
+import edu.stanford.bmir.radx.metadata.validator.lib.ValidationReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JSON form of a {@link ValidationReport}.
+ */
+public record ValidationResponse(boolean valid, int errorCount, List<Result> results) {
+
+  public static ValidationResponse of(ValidationReport report) {
+    var results = new ArrayList<Result>(report.results().size());
+    int errorCount = 0;
+    for (var result : report.results()) {
+      if (result.validationLevel() == ValidationLevel.ERROR) {
+        errorCount += 1;
+      }
+      results.add(new Result(result.validationLevel().name(), result.pointer(), result.validationName().name(), result.message()));
+    }
+    return new ValidationResponse(errorCount == 0, errorCount, results);
+  }
+
+  public record Result(String level, String path, String validationType, String message) {
+  }
+}
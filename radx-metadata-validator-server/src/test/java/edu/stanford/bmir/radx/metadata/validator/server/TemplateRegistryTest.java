@@ -0,0 +1,45 @@
+package edu.stanford.bmir.radx.metadata.validator.server;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.ContentHash;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemplateRegistryTest {
+
+  private static byte[] template(String id) {
+    return ("{\"@id\":\"" + id + "\"}").getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void testRegisterReturnsContentHashAndKeepsFirstContent() {
+    var registry = new TemplateRegistry(2);
+    var content = template("a");
+
+    var templateId = registry.register(content);
+
+    assertEquals(ContentHash.sha256(content), templateId);
+    assertEquals(templateId, registry.register(template("a")));
+    assertSame(content, registry.get(templateId).orElseThrow());
+  }
+
+  @Test
+  void testLeastRecentlyUsedTemplateIsEvicted() {
+    var registry = new TemplateRegistry(2);
+    var a = registry.register(template("a"));
+    var b = registry.register(template("b"));
+    registry.get(a);
+    var c = registry.register(template("c"));
+
+    assertTrue(registry.get(a).isPresent());
+    assertTrue(registry.get(b).isEmpty());
+    assertTrue(registry.get(c).isPresent());
+  }
+
+  @Test
+  void testUnknownTemplateIsEmpty() {
+    assertTrue(new TemplateRegistry(2).get("unknown").isEmpty());
+  }
+}
@@ -0,0 +1,121 @@
+package edu.stanford.bmir.radx.metadata.validator.server;
+
+import edu.stanford.bmir.radx.metadata.validator.lib.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ValidationController.class)
+@Import({TemplateRegistry.class, ValidationReportWriter.class})
+public class ValidationControllerTest {
+  private static final String TEMPLATE = "{\"@id\":\"https://repo.metadatacenter.org/templates/1\"}";
+  private static final String INSTANCE = "{\"schema:isBasedOn\":\"https://repo.metadatacenter.org/templates/1\"}";
+  private static final ValidationReport INVALID_REPORT = new ValidationReport(List.of(
+      new ValidationResult(ValidationLevel.ERROR, ValidationName.REQUIREMENT_VALIDATION, "Title is required", "/Title")));
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private TemplateRegistry templateRegistry;
+
+  @MockBean
+  private Validator validator;
+
+  @MockBean
+  private ValidationExecutors validationExecutors;
+
+  @MockBean
+  private ValidationMetrics validationMetrics;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(validationExecutors.runValidation(any())).thenAnswer(invocation -> invocation.<Callable<?>>getArgument(0).call());
+    when(validator.validateInstance(any(byte[].class), any(byte[].class))).thenReturn(INVALID_REPORT);
+  }
+
+  @Test
+  void testRegisterTemplateReturnsContentHash() throws Exception {
+    mockMvc.perform(post("/templates").contentType(MediaType.APPLICATION_JSON).content(TEMPLATE))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.templateId").value(ContentHash.sha256(TEMPLATE.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  void testValidateRegisteredTemplateReturnsJsonReport() throws Exception {
+    var templateId = templateRegistry.register(TEMPLATE.getBytes(StandardCharsets.UTF_8));
+    var template = templateRegistry.get(templateId).orElseThrow();
+
+    mockMvc.perform(post("/templates/{templateId}/validate", templateId).contentType(MediaType.APPLICATION_JSON).content(INSTANCE))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.valid").value(false))
+        .andExpect(jsonPath("$.errorCount").value(1))
+        .andExpect(jsonPath("$.results[0].level").value("ERROR"))
+        .andExpect(jsonPath("$.results[0].path").value("/Title"))
+        .andExpect(jsonPath("$.results[0].validationType").value("REQUIREMENT_VALIDATION"))
+        .andExpect(jsonPath("$.results[0].message").value("Title is required"));
+    verify(validator).validateInstance(eq(template), any(byte[].class));
+  }
+
+  @Test
+  void testValidateRegisteredTemplateReturnsCsvReport() throws Exception {
+    var templateId = templateRegistry.register(TEMPLATE.getBytes(StandardCharsets.UTF_8));
+
+    mockMvc.perform(post("/templates/{templateId}/validate", templateId).contentType(MediaType.APPLICATION_JSON).content(INSTANCE)
+            .accept("text/csv"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(content().string(containsString("LEVEL,PATH,VALIDATION TYPE,MESSAGE")))
+        .andExpect(content().string(containsString("ERROR,/Title,REQUIREMENT_VALIDATION,Title is required")));
+  }
+
+  @Test
+  void testJsonIsPreferredWhenAcceptedFirst() throws Exception {
+    var templateId = templateRegistry.register(TEMPLATE.getBytes(StandardCharsets.UTF_8));
+
+    mockMvc.perform(post("/templates/{templateId}/validate", templateId).contentType(MediaType.APPLICATION_JSON).content(INSTANCE)
+            .header("Accept", "application/json, text/csv"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void testUnknownTemplateIdIsNotFound() throws Exception {
+    mockMvc.perform(post("/templates/{templateId}/validate", "unknown").contentType(MediaType.APPLICATION_JSON).content(INSTANCE))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testValidateWithInlineTemplate() throws Exception {
+    var request = "{\"template\":" + TEMPLATE + ",\"instance\":" + INSTANCE + "}";
+
+    mockMvc.perform(post("/validate").contentType(MediaType.APPLICATION_JSON).content(request))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.errorCount").value(1));
+    verify(validator).validateInstance(any(byte[].class), any(byte[].class));
+  }
+
+  @Test
+  void testValidateWithoutInstanceIsBadRequest() throws Exception {
+    mockMvc.perform(post("/validate").contentType(MediaType.APPLICATION_JSON).content("{\"template\":" + TEMPLATE + "}"))
+        .andExpect(status().isBadRequest());
+  }
+}